@@ -0,0 +1,39 @@
+#!/bin/sh
+# Roda o compilador (mesmos argumentos do App). Compile antes com: javac -d bin src/*.java
+#
+# Partida rápida: "./compilador.sh --treinar" gera compilador.jar, compilador.jsa (AppCDS) e
+# compilador.metricas ao lado deste script. Depois disso as execuções usam os três arquivos
+# sozinhas, enquanto eles forem mais novos que as classes em bin/ (recompilou, treine de novo).
+
+DIR=$(cd "$(dirname "$0")" && pwd)
+BIN="$DIR/bin"
+JAR="$DIR/compilador.jar"
+CDS="$DIR/compilador.jsa"
+METRICAS="$DIR/compilador.metricas"
+
+if [ "$1" = "--treinar" ]; then
+    exec java -cp "$BIN" App --treinar "$DIR"
+fi
+
+# o arquivo existe e nenhuma classe em bin/ é mais nova que ele
+atualizado() {
+    [ -f "$1" ] && [ -z "$(find "$BIN" -name '*.class' -newer "$1" | head -n 1)" ]
+}
+
+# os argumentos do java são montados de trás para frente com "set --", cada um entre aspas
+# (o caminho pode ter espaços); o .jsa só existe em JDK 13+, o jar e as métricas em qualquer JDK
+if atualizado "$JAR"; then
+    set -- -cp "$JAR" App "$@"
+    if atualizado "$CDS"; then
+        set -- "-XX:SharedArchiveFile=$CDS" -Xshare:auto "$@"
+    fi
+else
+    if [ -f "$JAR" ]; then
+        echo "[AVISO] classes em bin/ mais novas que o treinamento; rode ./compilador.sh --treinar" >&2
+    fi
+    set -- -cp "$BIN" App "$@"
+fi
+if atualizado "$METRICAS"; then
+    set -- "-Dcompilador.metricas=$METRICAS" "$@"
+fi
+exec java "$@"
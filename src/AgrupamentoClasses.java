@@ -0,0 +1,170 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resumo de um diagrama grande para o nível de detalhe AGRUPADO: no máximo maxGrupos nós, não
+ * importa quantas classes existam. Cada componente conexo ganha uma cota de grupos proporcional
+ * ao tamanho; dentro dele as classes mais conectadas viram "sementes" e cada classe vai para a
+ * semente mais próxima (busca em largura com várias origens). Componentes pequenos que não
+ * couberem na cota vão todos para um grupo "Demais classes".
+ *
+ * Relacionamentos entre grupos diferentes são somados em uma única ligação por par, e só as
+ * LIGACOES_POR_GRUPO * maxGrupos ligações mais fortes são desenhadas (grafos densos teriam
+ * até maxGrupos² pares).
+ */
+public class AgrupamentoClasses {
+
+    private static final int LIGACOES_POR_GRUPO = 4;
+
+    public final DiagramaUML resumo;     // um ClasseUML (sem membros) por grupo
+    public final String[][] linhasGrupo; // texto mostrado dentro de cada grupo, na ordem de resumo.classes
+
+    public AgrupamentoClasses(DiagramaUML diagrama, int maxGrupos, ControleRecursos controle) {
+        ComponentesConexos grafo = new ComponentesConexos(diagrama.classes, diagrama.relacionamentos);
+        int n = grafo.quantidadeClasses();
+        int[] grupoDe = new int[n];
+        Arrays.fill(grupoDe, -1);
+
+        Integer[] ordem = new Integer[grafo.quantidadeComponentes()];
+        for (int c = 0; c < ordem.length; c++) ordem[c] = c;
+        Arrays.sort(ordem, (a, b) -> grafo.membros(b).length - grafo.membros(a).length);
+
+        List<Integer> sementes = new ArrayList<>();   // classe que dá nome a cada grupo
+        List<Integer> tamanhos = new ArrayList<>();
+        int orcamento = Math.max(1, maxGrupos);
+        int restante = orcamento;
+        int primeiroSemCota = ordem.length;
+        int[] fila = new int[n];
+
+        for (int k = 0; k < ordem.length; k++) {
+            int[] membros = grafo.membros(ordem[k]);
+            int reserva = k < ordem.length - 1 ? 1 : 0; // vaga do grupo "Demais classes"
+            int cota = (int) Math.min(Math.max(1, (long) orcamento * membros.length / Math.max(1, n)),
+                    Math.min(restante - reserva, membros.length));
+            if (cota <= 0) {
+                primeiroSemCota = k;
+                break;
+            }
+            restante -= cota;
+            controle.verificarPrazo();
+
+            // sementes: as classes de maior grau do componente
+            Integer[] porGrau = new Integer[membros.length];
+            for (int j = 0; j < membros.length; j++) porGrau[j] = membros[j];
+            Arrays.sort(porGrau, (a, b) -> grafo.grau(b) != grafo.grau(a) ? grafo.grau(b) - grafo.grau(a) : a - b);
+
+            int inicio = 0, fim = 0;
+            for (int j = 0; j < cota; j++) {
+                int semente = porGrau[j];
+                grupoDe[semente] = sementes.size();
+                sementes.add(semente);
+                tamanhos.add(0);
+                fila[fim++] = semente;
+            }
+            while (inicio < fim) {
+                int atual = fila[inicio++];
+                tamanhos.set(grupoDe[atual], tamanhos.get(grupoDe[atual]) + 1);
+                for (int v = 0; v < grafo.grau(atual); v++) {
+                    int vizinho = grafo.vizinho(atual, v);
+                    if (grupoDe[vizinho] == -1) {
+                        grupoDe[vizinho] = grupoDe[atual];
+                        fila[fim++] = vizinho;
+                    }
+                }
+            }
+        }
+
+        // componentes que sobraram: um grupo só
+        int grupoDemais = -1;
+        int classesDemais = 0;
+        if (primeiroSemCota < ordem.length) {
+            grupoDemais = sementes.size();
+            for (int k = primeiroSemCota; k < ordem.length; k++) {
+                for (int i : grafo.membros(ordem[k])) {
+                    grupoDe[i] = grupoDemais;
+                    classesDemais++;
+                }
+            }
+        }
+        int quantidadeGrupos = sementes.size() + (grupoDemais >= 0 ? 1 : 0);
+
+        // membros e relacionamentos internos de cada grupo; ligações somadas entre grupos
+        long[] membrosGrupo = new long[quantidadeGrupos];
+        int[] internos = new int[quantidadeGrupos];
+        for (int i = 0; i < n; i++) {
+            membrosGrupo[grupoDe[i]] += grafo.classe(i).atributos.size() + grafo.classe(i).metodos.size();
+        }
+        Map<Long, LigacaoGrupos> ligacoes = new LinkedHashMap<>();
+        for (RelacionamentoUML r : diagrama.relacionamentos) {
+            int o = grafo.indice(r.classeOrigem);
+            int d = grafo.indice(r.classeDestino);
+            if (o < 0 || d < 0) continue;
+            int go = grupoDe[o], gd = grupoDe[d];
+            if (go == gd) {
+                internos[go]++;
+                continue;
+            }
+            LigacaoGrupos l = ligacoes.computeIfAbsent(((long) go << 32) | gd, chave -> new LigacaoGrupos(go, gd, r, ligacoes.size()));
+            l.quantidade++;
+            if (l.tipo != r.tipoRelacionamento) l.tipo = TipoToken.T_LINK; // tipos misturados: ligação simples
+        }
+
+        List<ClasseUML> nos = new ArrayList<>(quantidadeGrupos);
+        String[][] linhas = new String[quantidadeGrupos][];
+        Set<String> nomesUsados = new HashSet<>();
+        for (int g = 0; g < quantidadeGrupos; g++) {
+            boolean demais = g == grupoDemais;
+            String nome = demais ? "Demais classes" : grafo.classe(sementes.get(g)).nome;
+            if (!nomesUsados.add(nome)) nome = nome + " #" + (g + 1); // classes repetidas (erro semântico)
+            nomesUsados.add(nome);
+            nos.add(new ClasseUML(nome, List.of(), List.of()));
+
+            int tamanho = demais ? classesDemais : tamanhos.get(g);
+            String classesTexto = tamanho == 1 ? "1 classe" : tamanho + " classes";
+            if (demais) classesTexto += " em " + (ordem.length - primeiroSemCota) + " componentes";
+            linhas[g] = new String[] {
+                    classesTexto,
+                    membrosGrupo[g] + " membros",
+                    internos[g] + " relacionamentos internos" };
+        }
+
+        List<LigacaoGrupos> desenhadas = new ArrayList<>(ligacoes.values());
+        int maxLigacoes = LIGACOES_POR_GRUPO * Math.max(1, maxGrupos);
+        if (desenhadas.size() > maxLigacoes) {
+            // as mais fortes ficam; a ordem original é restaurada para a saída não depender do corte
+            desenhadas.sort((a, b) -> b.quantidade - a.quantidade);
+            desenhadas = new ArrayList<>(desenhadas.subList(0, maxLigacoes));
+            desenhadas.sort((a, b) -> a.ordem - b.ordem);
+        }
+
+        List<RelacionamentoUML> arestas = new ArrayList<>(desenhadas.size());
+        for (LigacaoGrupos l : desenhadas) {
+            String label = l.quantidade == 1 ? l.labelOriginal : l.quantidade + " relacionamentos";
+            arestas.add(new RelacionamentoUML(nos.get(l.origem).nome, nos.get(l.destino).nome, l.tipo, label));
+        }
+
+        this.resumo = new DiagramaUML(diagrama.titulo, diagrama.trechoTitulo, nos, arestas);
+        this.linhasGrupo = linhas;
+    }
+
+    private static class LigacaoGrupos {
+        final int origem, destino;
+        final int ordem; // posição da primeira ocorrência
+        final String labelOriginal;
+        TipoToken tipo;
+        int quantidade;
+
+        LigacaoGrupos(int origem, int destino, RelacionamentoUML primeiro, int ordem) {
+            this.origem = origem;
+            this.destino = destino;
+            this.ordem = ordem;
+            this.labelOriginal = primeiro.label;
+            this.tipo = primeiro.tipoRelacionamento;
+        }
+    }
+}
@@ -1,42 +1,49 @@
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class AnalisadorLexico {
 
     private final String codigoFonte;
+    private final ControleRecursos controle;
     private final List<Token> tokens = new ArrayList<>();
+    private final List<Diagnostico> diagnosticos = new ArrayList<>();
     
-    private static final Map<String, TipoToken> palavrasChave;
-
-    static {
-        palavrasChave = new HashMap<>();
-        palavrasChave.put("@startuml", TipoToken.T_START_UML);
-        palavrasChave.put("@enduml",   TipoToken.T_END_UML);
-        palavrasChave.put("class",     TipoToken.T_CLASS);
-        palavrasChave.put("abstract",  TipoToken.T_ABSTRACT);
-        palavrasChave.put("title",     TipoToken.T_TITLE);
-    }
+    // tabela imutável montada uma vez só (sem bloco estático nem cópias defensivas)
+    private static final Map<String, TipoToken> palavrasChave = Map.of(
+        "@startuml", TipoToken.T_START_UML,
+        "@enduml",   TipoToken.T_END_UML,
+        "class",     TipoToken.T_CLASS,
+        "abstract",  TipoToken.T_ABSTRACT,
+        "title",     TipoToken.T_TITLE);
 
     private int atual = 0;
+    private int inicioToken = 0; // onde começa o token que está sendo lido
     private int linha = 1;
     private int coluna = 1;
 
     public AnalisadorLexico(String codigoFonte) {
+        this(codigoFonte, ControleRecursos.semLimites());
+    }
+
+    public AnalisadorLexico(String codigoFonte, ControleRecursos controle) {
         this.codigoFonte = codigoFonte;
+        this.controle = controle;
     }
 
     public List<Token> scanTokens() {
+        int passos = 0;
         while (!isAtEnd()) {
             scanToken();
+            if (++passos % 4096 == 0) controle.verificarPrazo();
         }
-        tokens.add(new Token(TipoToken.T_EOF, "", linha, coluna));
+        tokens.add(new Token(TipoToken.T_EOF, "", linha, coluna, atual, atual));
         return tokens;
     }
 
     // --- MÉTODO PRINCIPAL DE SCAN ---
     private void scanToken() {
+        inicioToken = atual;
         char c = avancar();
 
         switch (c) {
@@ -138,14 +145,26 @@ public class AnalisadorLexico {
                     identificador();
                 } 
                 else {
-                    System.err.printf("Erro Léxico: Caractere inesperado '%c' na Linha %d Col %d\n", c, linha, coluna);
+                    erro(String.format("Caractere inesperado '%c' na Linha %d Col %d", c, linha, coluna));
                 }
                 break;
         }
     }
 
+    /**
+     * Erros léxicos encontrados (o analisador não para no primeiro erro).
+     */
+    public List<Diagnostico> getDiagnosticos() {
+        return diagnosticos;
+    }
+
     // --- MÉTODOS AUXILIARES ---
 
+    private void erro(String mensagem) {
+        diagnosticos.add(new Diagnostico(Diagnostico.Fase.LEXICA, mensagem, new Trecho(inicioToken, atual)));
+        controle.verificarDiagnosticos(diagnosticos.size());
+    }
+
     private char avancar() {
         coluna++;
         return codigoFonte.charAt(atual++);
@@ -181,18 +200,15 @@ public class AnalisadorLexico {
         adicionarToken(tipo, texto);
     }
     
+    // strings não atravessam linhas: uma aspa sem par não engole o resto do arquivo
     private void stringLiteral() {
         int inicio = atual; 
-        while (peek() != '"' && !isAtEnd()) {
-            if (peek() == '\n') {
-                linha++; 
-                coluna = 1;
-            }
+        while (peek() != '"' && peek() != '\n' && !isAtEnd()) {
             avancar();
         }
 
-        if (isAtEnd()) {
-            System.err.printf("Erro Léxico: String não terminada na Linha %d\n", linha);
+        if (peek() != '"') {
+            erro(String.format("String não terminada na Linha %d", linha));
             return;
         }
         
@@ -220,11 +236,13 @@ public class AnalisadorLexico {
 
     private void adicionarToken(TipoToken tipo) {
         String lexema = codigoFonte.substring(atual - 1, atual);
-        tokens.add(new Token(tipo, lexema, linha, coluna - 1));
+        tokens.add(new Token(tipo, lexema, linha, coluna - 1, inicioToken, atual));
+        controle.verificarTokens(tokens.size());
     }
     
     private void adicionarToken(TipoToken tipo, String lexema) {
         int col = coluna - lexema.length();
-        tokens.add(new Token(tipo, lexema, linha, col));
+        tokens.add(new Token(tipo, lexema, linha, col, inicioToken, atual));
+        controle.verificarTokens(tokens.size());
     }
 }
\ No newline at end of file
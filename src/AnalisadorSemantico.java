@@ -1,3 +1,4 @@
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -6,11 +7,18 @@ public class AnalisadorSemantico {
 
     private final List<ClasseUML> classes;
     private final List<RelacionamentoUML> relacionamentos;
+    private final ControleRecursos controle;
+    private final List<Diagnostico> diagnosticos = new ArrayList<>();
     private boolean temErros = false;
 
-    public AnalisadorSemantico(List<ClasseUML> classes, List<RelacionamentoUML> relacionamentos) {
-        this.classes = classes;
-        this.relacionamentos = relacionamentos;
+    public AnalisadorSemantico(DiagramaUML diagrama) {
+        this(diagrama, ControleRecursos.semLimites());
+    }
+
+    public AnalisadorSemantico(DiagramaUML diagrama, ControleRecursos controle) {
+        this.classes = diagrama.classes;
+        this.relacionamentos = diagrama.relacionamentos;
+        this.controle = controle;
     }
 
     /**
@@ -18,30 +26,30 @@ public class AnalisadorSemantico {
      * @return true se houver erros, false se estiver tudo certo.
      */
     public boolean analisar() {
-        System.out.println("Verificando consistência do diagrama...");
-        
         // 1. Tabela de Símbolos (apenas nomes das classes)
         Set<String> nomesClasses = new HashSet<>();
         
         // Passo 1: Verificar duplicidade de classes
+        controle.verificarPrazo();
         for (ClasseUML c : classes) {
             if (nomesClasses.contains(c.nome)) {
-                erro("A classe '" + c.nome + "' foi declarada mais de uma vez.");
+                erro("A classe '" + c.nome + "' foi declarada mais de uma vez.", c.trecho);
             } else {
                 nomesClasses.add(c.nome);
             }
         }
 
         // Passo 2: Verificar integridade dos relacionamentos
+        controle.verificarPrazo();
         for (RelacionamentoUML rel : relacionamentos) {
             // Verifica a origem
             if (!nomesClasses.contains(rel.classeOrigem)) {
-                erro("Relacionamento inválido: A classe de origem '" + rel.classeOrigem + "' não foi definida.");
+                erro("Relacionamento inválido: A classe de origem '" + rel.classeOrigem + "' não foi definida.", rel.trecho);
             }
 
             // Verifica o destino
             if (!nomesClasses.contains(rel.classeDestino)) {
-                erro("Relacionamento inválido: A classe de destino '" + rel.classeDestino + "' não foi definida.");
+                erro("Relacionamento inválido: A classe de destino '" + rel.classeDestino + "' não foi definida.", rel.trecho);
             }
             
             // Verifica auto-relacionamento (opcional, mas bom aviso)
@@ -50,15 +58,16 @@ public class AnalisadorSemantico {
             // }
         }
 
-        if (!temErros) {
-            System.out.println("Sucesso: Nenhuma inconsistência semântica encontrada.");
-        }
-
         return temErros;
     }
 
-    private void erro(String mensagem) {
-        System.err.println("ERRO SEMÂNTICO: " + mensagem);
+    public List<Diagnostico> getDiagnosticos() {
+        return diagnosticos;
+    }
+
+    private void erro(String mensagem, Trecho trecho) {
+        diagnosticos.add(new Diagnostico(Diagnostico.Fase.SEMANTICA, mensagem, trecho));
+        controle.verificarDiagnosticos(diagnosticos.size());
         temErros = true;
     }
 }
\ No newline at end of file
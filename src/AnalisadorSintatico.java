@@ -1,213 +1,334 @@
-import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
+/**
+ * Parser LL(1) guiado pela TabelaLL1 (gerada de Gramatica.txt por GeradorTabelaLL1).
+ *
+ * Não há recursão: uma pilha explícita guarda o que falta reconhecer. No topo pode estar um
+ * terminal (confere com o token atual), um não-terminal (a tabela diz qual produção empilhar)
+ * ou uma ação semântica (monta a AST com os tokens já consumidos).
+ *
+ * Recuperação de erros: token sobrando entre declarações (ou entre membros) é ignorado com um
+ * aviso; erro no meio de uma declaração descarta o resto da linha e o parse continua na
+ * lista de declarações/membros mais próxima.
+ */
 public class AnalisadorSintatico {
 
+    private static final int[] PONTOS_SINCRONIZACAO = { TabelaLL1.NT_LISTA_DECLARACOES, TabelaLL1.NT_LISTA_MEMBROS };
+    private static final TipoToken[] TIPOS = TipoToken.values();
+
+    private final String codigoFonte; // títulos e labels são recortados direto do texto original
     private final List<Token> tokens;
+    private final ControleRecursos controle;
     private int atual = 0; // Ponteiro para o token atual
 
-    // A "AST" - o resultado final do parsing
-    public final List<ClasseUML> classes = new ArrayList<>();
-    public final List<RelacionamentoUML> relacionamentos = new ArrayList<>();
-    public String titulo = "";
+    // A "AST" - o resultado final do parsing (entregue como DiagramaUML imutável)
+    private final List<ClasseUML> classes = new ArrayList<>();
+    private final List<RelacionamentoUML> relacionamentos = new ArrayList<>();
+    private String titulo = "";
+    private Trecho trechoTitulo = Trecho.VAZIO;
+    private final List<Diagnostico> diagnosticos = new ArrayList<>();
 
-    public AnalisadorSintatico(List<Token> tokens) {
+    // Estado das ações semânticas: partes da declaração que está sendo reconhecida
+    private int inicioTexto;
+    private Token inicioClasse, nomeClasse;
+    private final List<AtributoUML> atributos = new ArrayList<>();
+    private final List<MetodoUML> metodos = new ArrayList<>();
+    private Token inicioMembro, nomeMembro;
+    private String visibilidade, tipoMembro;
+    private Token origem, destino;
+    private TipoToken operador;
+    private String label;
+
+    public AnalisadorSintatico(String codigoFonte, List<Token> tokens) {
+        this(codigoFonte, tokens, ControleRecursos.semLimites());
+    }
+
+    /**
+     * @param codigoFonte o mesmo texto que gerou os tokens (as posições dos tokens apontam para ele)
+     */
+    public AnalisadorSintatico(String codigoFonte, List<Token> tokens, ControleRecursos controle) {
+        this.codigoFonte = codigoFonte;
         this.tokens = tokens;
+        this.controle = controle;
     }
 
     // O método principal que vai iniciar a análise
-    public void parse() {
-        try {
-            // Regra: Programa -> @startuml ListaDeclaracoes @enduml
-            consumir(TipoToken.T_START_UML, "Esperado '@startuml' no início.");
-            
-            listaDeclaracoes(); // chama a regra principal
+    public DiagramaUML parse() {
+        int[] pilha = new int[64];
+        int topo = 0;
+        pilha[topo++] = TabelaLL1.SIMBOLO_INICIAL;
+        int passos = 0;
 
-            consumir(TipoToken.T_END_UML, "Esperado '@enduml' no fim.");
+        while (topo > 0) {
+            if (++passos % 4096 == 0) controle.verificarPrazo();
+            int simbolo = pilha[--topo];
 
-        } catch (RuntimeException e) {
-            System.err.println("Erro Sintático: " + e.getMessage());
-        }
-    }
+            if (simbolo < 0) {
+                executar(simbolo);
+                continue;
+            }
+
+            Token token = tokenAtual();
+            int terminal = token.tipo.ordinal();
+
+            if (simbolo < TabelaLL1.TERMINAIS) {
+                if (simbolo == terminal) {
+                    avancar();
+                } else {
+                    topo = recuperar(pilha, topo, descricao(simbolo), token);
+                }
+                continue;
+            }
+
+            int producao = TabelaLL1.TABELA[simbolo - TabelaLL1.TERMINAIS][terminal];
+            if (producao < 0) {
+                if (isSincronizacao(simbolo) && token.tipo != TipoToken.T_EOF) {
+                    // token solto entre declarações: avisa, pula e tenta de novo
+                    erro("Token inesperado ignorado: " + token.lexema, token);
+                    avancar();
+                    pilha[topo++] = simbolo;
+                } else {
+                    topo = recuperar(pilha, topo, esperado(simbolo), token);
+                }
+                continue;
+            }
 
-    // Regra: ListaDeclaracoes -> (Declaracao)*
-    private void listaDeclaracoes() {
-        // Continua enquanto não for @enduml ou Fim do Arquivo
-        while (!check(TipoToken.T_END_UML) && !isAtEnd()) {
-            declaracao(); // Analisa a próxima declaração
+            int[] direita = TabelaLL1.PRODUCOES[producao];
+            if (topo + direita.length > pilha.length) pilha = Arrays.copyOf(pilha, Math.max(pilha.length * 2, topo + direita.length));
+            for (int i = direita.length - 1; i >= 0; i--) pilha[topo++] = direita[i];
         }
+        return new DiagramaUML(titulo, trechoTitulo, classes, relacionamentos);
     }
 
-    // Regra: Declaracao -> DeclaracaoClasse | DeclaracaoRelacionamento | Titulo | T_NEWLINE
-    private void declaracao() {
-        if (match(TipoToken.T_CLASS)) {
-            declaracaoClasse();
-        } 
-        else if (match(TipoToken.T_TITLE)) {
-            tratarTitulo();
-        }
-        else if (check(TipoToken.T_ID) && 
-                 checkProximo(TipoToken.T_LINK, TipoToken.T_ASSOCIACAO, TipoToken.T_AGREGACAO, 
-                                TipoToken.T_COMPOSICAO, TipoToken.T_HERANCA, TipoToken.T_IMPLEMENTACAO)) {
-            declaracaoRelacionamento();
-        } 
-        else if (match(TipoToken.T_NEWLINE)) {
-            // ignora a quebra de linha
-        } 
-        else if (!isAtEnd()){
-            System.err.println("Token inesperado ignorado: " + avancar().lexema);
-        }
+    /**
+     * Erros sintáticos encontrados durante o parse.
+     */
+    public List<Diagnostico> getDiagnosticos() {
+        return diagnosticos;
     }
 
-    // Regra: DeclaracaoClasse -> 'class' ID '{' ... '}'
-    private void declaracaoClasse() {
-        Token nomeClasse = consumir(TipoToken.T_ID, "Esperado nome da classe.");
-        ClasseUML classe = new ClasseUML(nomeClasse.lexema);
-        
-        // abre chaves
-        if (match(TipoToken.T_OPEN_BRACE)) {
-            // nova linha opcional após {
-            match(TipoToken.T_NEWLINE);
+    // --- Ações semânticas (os {nomes} da gramática) ---
 
-            // enquanto não fechar chaves e não acabar o arquivo
-            while (!check(TipoToken.T_CLOSE_BRACE) && !isAtEnd()) {
-                declaracaoMembro(classe);
-            }
-            
-            consumir(TipoToken.T_CLOSE_BRACE, "Esperado '}' para fechar a classe.");
-        }
-        
-        // adiciona a classe completa (com membros) à lista
-        classes.add(classe);
-        
-        // consome a nova linha final
-        match(TipoToken.T_NEWLINE);
-    }
-
-    // Regra: DeclaracaoMembro -> (Visibilidade)? ID (':' Tipo | '(' Parametros ')' (':' Tipo)?) NEWLINE
-    private void declaracaoMembro(ClasseUML classe) {
-        // definindo visibilidade
-        String visibilidade = "public"; // padrão
-        if (match(TipoToken.T_PUBLIC)) visibilidade = "+";
-        else if (match(TipoToken.T_PRIVATE)) visibilidade = "-";
-        else if (match(TipoToken.T_PROTECTED)) visibilidade = "#";
-        else if (match(TipoToken.T_PACKAGE)) visibilidade = "~";
-
-        // nome do membro
-        Token nome = consumir(TipoToken.T_ID, "Esperado nome do atributo ou método.");
-
-        // 3. decisão: é método '(' ou atributo ':' ?
-        
-        // caso método: se tiver parenteses
-        if (match(TipoToken.T_OPEN_PAREN)) {
-            // ignorando parâmetros por enquanto para simplificar
-            while (!check(TipoToken.T_CLOSE_PAREN) && !isAtEnd()) {
-                avancar(); 
-            }
-            consumir(TipoToken.T_CLOSE_PAREN, "Esperado ')' após parâmetros.");
+    private void executar(int acao) {
+        switch (acao) {
+            case TabelaLL1.ACAO_INICIO_TEXTO:
+                inicioTexto = atual;
+                break;
+            case TabelaLL1.ACAO_TITULO:
+                titulo = textoDesde(inicioTexto);
+                trechoTitulo = trechoAte(tokens.get(inicioTexto - 1)); // desde o 'title'
+                break;
 
-            // tipo de retorno opcional
-            String tipoRetorno = "void";
-            if (match(TipoToken.T_COLON)) {
-                 Token tipo = consumir(TipoToken.T_ID, "Esperado tipo de retorno.");
-                 tipoRetorno = tipo.lexema;
-            }
+            case TabelaLL1.ACAO_NOME_CLASSE:
+                nomeClasse = tokenAnterior();
+                inicioClasse = tokens.get(atual - 2); // o 'class'
+                atributos.clear();
+                metodos.clear();
+                break;
+            case TabelaLL1.ACAO_CLASSE:
+                // adiciona a classe completa (com membros) à lista
+                classes.add(new ClasseUML(nomeClasse.lexema, atributos, metodos, trechoAte(inicioClasse)));
+                controle.verificarClasses(classes.size());
+                break;
 
-            classe.metodos.add(new MetodoUML(visibilidade, nome.lexema, tipoRetorno));
-        }
-        // caso atributo: se tiver dois pontos ou terminar a linha
-        else {
-            String tipo = "String"; // tipo padrão se não especificado
-            if (match(TipoToken.T_COLON)) {
-                Token tokenTipo = consumir(TipoToken.T_ID, "Esperado tipo do atributo.");
-                tipo = tokenTipo.lexema;
-            }
-            
-            classe.atributos.add(new AtributoUML(visibilidade, nome.lexema, tipo));
-        }
+            case TabelaLL1.ACAO_INICIO_MEMBRO:
+                inicioMembro = tokenAtual();
+                visibilidade = "public"; // padrão
+                tipoMembro = null;
+                break;
+            case TabelaLL1.ACAO_VISIBILIDADE:
+                visibilidade = tokenAnterior().lexema; // +, -, # ou ~
+                break;
+            case TabelaLL1.ACAO_NOME_MEMBRO:
+                nomeMembro = tokenAnterior();
+                break;
+            case TabelaLL1.ACAO_TIPO:
+                tipoMembro = tokenAnterior().lexema;
+                break;
+            case TabelaLL1.ACAO_ATRIBUTO:
+                // tipo padrão se não especificado
+                atributos.add(new AtributoUML(visibilidade, nomeMembro.lexema,
+                        tipoMembro != null ? tipoMembro : "String", trechoAte(inicioMembro)));
+                controle.verificarMembros(nomeClasse.lexema, atributos.size() + metodos.size());
+                break;
+            case TabelaLL1.ACAO_METODO:
+                metodos.add(new MetodoUML(visibilidade, nomeMembro.lexema,
+                        tipoMembro != null ? tipoMembro : "void", trechoAte(inicioMembro)));
+                controle.verificarMembros(nomeClasse.lexema, atributos.size() + metodos.size());
+                break;
 
-        // consome a quebra de linha obrigatória após cada membro
-        match(TipoToken.T_NEWLINE);
-    }
-
-    // Regra: DeclaracaoRelacionamento -> ID Operador ID (':' Label)
-    private void declaracaoRelacionamento() {
-        Token classeOrigem = consumir(TipoToken.T_ID, "Esperado ID da classe de origem.");
-        Token operador = avancar();
-        Token classeDestino = consumir(TipoToken.T_ID, "Esperado ID da classe de destino.");
-        
-        String label = "";
-        
-        // verifica se tem dois pontos ':'
-        if (match(TipoToken.T_COLON)) {
-            // LÓGICA NOVA: Lê tudo até o final da linha como label
-            StringBuilder sb = new StringBuilder();
-            while (!check(TipoToken.T_NEWLINE) && !isAtEnd()) {
-                sb.append(avancar().lexema).append(" ");
-            }
-            label = sb.toString().trim();
+            case TabelaLL1.ACAO_ORIGEM:
+                origem = tokenAnterior();
+                break;
+            case TabelaLL1.ACAO_OPERADOR:
+                operador = tokenAnterior().tipo;
+                break;
+            case TabelaLL1.ACAO_DESTINO:
+                destino = tokenAnterior();
+                label = "";
+                break;
+            case TabelaLL1.ACAO_LABEL:
+                label = textoDesde(inicioTexto);
+                break;
+            case TabelaLL1.ACAO_RELACIONAMENTO:
+                relacionamentos.add(new RelacionamentoUML(origem.lexema, destino.lexema, operador, label, trechoAte(origem)));
+                controle.verificarRelacionamentos(relacionamentos.size());
+                break;
+
+            default:
+                throw new IllegalStateException("Ação sem implementação na gramática: " + acao);
         }
-        
-        relacionamentos.add(new RelacionamentoUML(
-            classeOrigem.lexema, 
-            classeDestino.lexema, 
-            operador.tipo, 
-            label
-        ));
+    }
 
-        match(TipoToken.T_NEWLINE);
+    /**
+     * Texto original do primeiro ao último token consumido desde o índice inicio (espaços e
+     * pontuação preservados, comentário do fim da linha fora). Se o texto for só uma string
+     * entre aspas, devolve o conteúdo dela.
+     */
+    private String textoDesde(int inicio) {
+        if (atual == inicio) return "";
+        Token primeiro = tokens.get(inicio), ultimo = tokenAnterior();
+        if (primeiro == ultimo && primeiro.tipo == TipoToken.T_STRING_LITERAL) return primeiro.lexema;
+        return codigoFonte.substring(primeiro.inicio, ultimo.fim);
     }
 
-    
+    /**
+     * Trecho que vai do início do token 'primeiro' até o fim do último token consumido.
+     */
+    private Trecho trechoAte(Token primeiro) {
+        return new Trecho(primeiro.inicio, tokenAnterior().fim);
+    }
 
-    // --- Métodos Auxiliares do Parser ---
+    // --- Erros ---
 
     /**
-     * Verifica se o token atual é de algum dos tipos esperados.
-     * Se for, consome o token e retorna true.
+     * Registra o erro e descarta a pilha até o ponto de sincronização mais próximo, pulando o
+     * resto da linha. Devolve o novo topo, ou 0 (fim do parse) se não houver como continuar.
      */
-    private boolean match(TipoToken... tipos) {
-        for (TipoToken tipo : tipos) {
-            if (check(tipo)) {
-                avancar(); // Consome o token
-                return true;
-            }
+    private int recuperar(int[] pilha, int topo, String esperado, Token encontrado) {
+        erro("Esperado " + esperado + " (encontrado: " + descricao(encontrado.tipo.ordinal())
+                + " na linha " + encontrado.linha + ")", encontrado);
+
+        // sem '@startuml' não é PlantUML; no fim do arquivo não há o que pular
+        if (atual == 0 || encontrado.tipo == TipoToken.T_EOF) return 0;
+
+        while (topo > 0 && !isSincronizacao(pilha[topo - 1])) topo--;
+        if (topo == 0) return 0;
+
+        // pula até o fim da linha, ou até um token que encerra a lista (ex.: '}' ou '@enduml')
+        short[] linha = TabelaLL1.TABELA[pilha[topo - 1] - TabelaLL1.TERMINAIS];
+        while (!isAtEnd() && !check(TipoToken.T_NEWLINE)) {
+            int producao = linha[tokenAtual().tipo.ordinal()];
+            if (producao >= 0 && TabelaLL1.PRODUCOES[producao].length == 0) break;
+            avancar();
+        }
+        return topo;
+    }
+
+    private void erro(String mensagem, Token local) {
+        diagnosticos.add(new Diagnostico(Diagnostico.Fase.SINTATICA, mensagem, new Trecho(local.inicio, local.fim)));
+        controle.verificarDiagnosticos(diagnosticos.size());
+    }
+
+    private static boolean isSincronizacao(int simbolo) {
+        for (int s : PONTOS_SINCRONIZACAO) {
+            if (s == simbolo) return true;
         }
         return false;
     }
 
     /**
-     * Consome o token atual se for do tipo esperado.
-     * Se não for, lança um erro.
+     * O que o não-terminal aceitaria: os terminais da linha da tabela; se forem muitos, os que
+     * o encerram (ex.: '}' para a lista de membros) ou, em último caso, a descrição dele.
      */
-    private Token consumir(TipoToken tipo, String mensagemErro) {
-        if (check(tipo)) {
-            return avancar();
+    private static String esperado(int naoTerminal) {
+        short[] linha = TabelaLL1.TABELA[naoTerminal - TabelaLL1.TERMINAIS];
+        List<String> aceitos = new ArrayList<>();
+        List<String> encerram = new ArrayList<>();
+        for (int t = 0; t < linha.length; t++) {
+            if (linha[t] < 0) continue;
+            aceitos.add(descricao(t));
+            if (TabelaLL1.PRODUCOES[linha[t]].length == 0) encerram.add(descricao(t));
         }
-        throw new RuntimeException(mensagemErro + " (encontrado: " + tokenAtual().tipo + " na linha " + tokenAtual().linha + ")");
+        if (aceitos.size() > 3 && !encerram.isEmpty() && encerram.size() <= 3) aceitos = encerram;
+        if (aceitos.isEmpty() || aceitos.size() > 3) {
+            return descricaoNaoTerminal(naoTerminal);
+        }
+        return String.join(" ou ", aceitos);
     }
 
     /**
-     * Verifica se o token atual é do tipo esperado (sem consumir).
+     * Texto para o usuário no lugar do nome do não-terminal na gramática.
      */
-    private boolean check(TipoToken tipo) {
-        if (isAtEnd()) return false;
-        return tokenAtual().tipo == tipo;
+    private static String descricaoNaoTerminal(int naoTerminal) {
+        switch (naoTerminal) {
+            case TabelaLL1.NT_PROGRAMA: return "'@startuml'";
+            case TabelaLL1.NT_LISTA_DECLARACOES:
+            case TabelaLL1.NT_DECLARACAO: return "declaração (class, title ou relacionamento)";
+            case TabelaLL1.NT_DECLARACAO_TITULO: return "'title'";
+            case TabelaLL1.NT_DECLARACAO_CLASSE: return "'class'";
+            case TabelaLL1.NT_CORPO_CLASSE_OPCIONAL: return "'{' ou fim da declaração da classe";
+            case TabelaLL1.NT_LISTA_MEMBROS: return "atributo, método ou '}'";
+            case TabelaLL1.NT_DECLARACAO_MEMBRO: return "atributo ou método";
+            case TabelaLL1.NT_VISIBILIDADE: return "visibilidade (+, -, # ou ~) ou nome do membro";
+            case TabelaLL1.NT_TIPO_MEMBRO: return "'(' ou ':' e o tipo, ou fim do membro";
+            case TabelaLL1.NT_TIPO_OPCIONAL: return "':' e o tipo, ou fim do membro";
+            case TabelaLL1.NT_LISTA_PARAMETROS:
+            case TabelaLL1.NT_TEXTO_PARAMETRO: return "parâmetros e ')' na mesma linha";
+            case TabelaLL1.NT_DECLARACAO_RELACIONAMENTO: return "relacionamento";
+            case TabelaLL1.NT_OPERADOR: return "operador de relacionamento (--, -->, o--, *--, <|-- ou <|..)";
+            case TabelaLL1.NT_LABEL_OPCIONAL: return "':' e o rótulo, ou quebra de linha";
+            case TabelaLL1.NT_TEXTO_LIVRE:
+            case TabelaLL1.NT_PALAVRA_TEXTO: return "texto";
+            default: return TabelaLL1.NOMES_NAO_TERMINAIS[naoTerminal - TabelaLL1.TERMINAIS];
+        }
     }
 
+    private static String descricao(int terminal) {
+        TipoToken tipo = TIPOS[terminal];
+        switch (tipo) {
+            case T_START_UML: return "'@startuml'";
+            case T_END_UML: return "'@enduml'";
+            case T_CLASS: return "'class'";
+            case T_TITLE: return "'title'";
+            case T_ABSTRACT: return "'abstract'";
+            case T_STATIC: return "'static'";
+            case T_OPEN_BRACE: return "'{'";
+            case T_CLOSE_BRACE: return "'}'";
+            case T_OPEN_PAREN: return "'('";
+            case T_CLOSE_PAREN: return "')'";
+            case T_COLON: return "':'";
+            case T_COMMA: return "','";
+            case T_SEMICOLON: return "';'";
+            case T_GREATER: return "'>'";
+            case T_PUBLIC: return "'+'";
+            case T_PRIVATE: return "'-'";
+            case T_PROTECTED: return "'#'";
+            case T_PACKAGE: return "'~'";
+            case T_HERANCA: return "'<|--'";
+            case T_IMPLEMENTACAO: return "'<|..'";
+            case T_ASSOCIACAO: return "'-->'";
+            case T_AGREGACAO: return "'o--'";
+            case T_COMPOSICAO: return "'*--'";
+            case T_LINK: return "'--'";
+            case T_ID: return "identificador";
+            case T_STRING_LITERAL: return "texto entre aspas";
+            case T_NEWLINE: return "quebra de linha";
+            case T_EOF: return "fim do arquivo";
+            default: return tipo.name();
+        }
+    }
+
+    // --- Métodos Auxiliares do Parser ---
+
     /**
-     * Verifica o PRÓXIMO token (sem consumir)
+     * Verifica se o token atual é do tipo esperado (sem consumir).
      */
-    private boolean checkProximo(TipoToken... tipos) {
+    private boolean check(TipoToken tipo) {
         if (isAtEnd()) return false;
-        if (tokens.get(atual + 1).tipo == TipoToken.T_EOF) return false;
-        
-        for (TipoToken tipo : tipos) {
-            if (tokens.get(atual + 1).tipo == tipo) {
-                return true;
-            }
-        }
-        return false;
+        return tokenAtual().tipo == tipo;
     }
 
     /**
@@ -226,7 +347,7 @@ public class AnalisadorSintatico {
     private Token tokenAnterior() {
         return tokens.get(atual - 1);
     }
-    
+
     /**
      * Retorna o token atual (sem consumir).
      */
@@ -240,16 +361,4 @@ public class AnalisadorSintatico {
     private boolean isAtEnd() {
         return tokenAtual().tipo == TipoToken.T_EOF;
     }
-
-    /**
-     * Trata a declaração de título (title).
-     */
-    private void tratarTitulo() {
-        StringBuilder sb = new StringBuilder();
-        while (!check(TipoToken.T_NEWLINE) && !isAtEnd()) {
-            sb.append(avancar().lexema).append(" ");
-        }
-        this.titulo = sb.toString().trim(); // Salva o título!
-        match(TipoToken.T_NEWLINE);
-    }
-}
\ No newline at end of file
+}
@@ -1,13 +1,25 @@
-import java.util.List;
+import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
+/**
+ * Uso: java App [entrada.txt [saida.svg]]   (padrão: teste.txt e diagrama.svg)
+ *      java App --treinar [diretório]       (gera os arquivos de partida rápida, ver TreinamentoCDS)
+ */
 public class App {
     public static void main(String[] args) throws Exception {
-        
+        // a linha de comando nunca abre janelas: só precisamos das métricas das fontes
+        if (System.getProperty("java.awt.headless") == null) System.setProperty("java.awt.headless", "true");
+
+        if (args.length > 0 && args[0].equals("--treinar")) {
+            TreinamentoCDS.treinar(Paths.get(args.length > 1 ? args[1] : "."));
+            return;
+        }
+
         // 1. Definição do arquivo de entrada
-        String nomeArquivo = "teste.txt";
+        String nomeArquivo = args.length > 0 ? args[0] : "teste.txt";
+        String arquivoSaida = args.length > 1 ? args[1] : "diagrama.svg";
         String codigoFonte;
 
         try {
@@ -22,49 +34,60 @@ public class App {
         System.out.println("   COMPILADOR PLANTUML -> SVG (Iniciado)   ");
         System.out.println("=============================================\n");
 
+        // O pipeline inteiro fica na biblioteca; aqui só mostramos o resultado de cada fase
+        String arquivoLayout = arquivoSaida.replaceFirst("\\.svg$", "") + ".layout";
+        OpcoesCompilacao opcoes = OpcoesCompilacao.PADRAO.comArquivoLayout(Paths.get(arquivoLayout));
+        ResultadoCompilacao resultado = CompiladorPlantUML.compilar(codigoFonte, opcoes);
+        DiagramaUML diagrama = resultado.diagrama;
+
+        // Limite estourado: a compilação parou no meio, então não há status de cada fase para mostrar
+        if (resultado.temErros(Diagnostico.Fase.LIMITE)) {
+            imprimirDiagnosticos(resultado, Diagnostico.Fase.LIMITE);
+            for (Diagnostico d : resultado.diagnosticos) {
+                if (d.fase != Diagnostico.Fase.LIMITE) System.err.println(d);
+            }
+            System.err.println("\nCompilação interrompida: SVG não gerado.");
+            System.exit(1);
+        }
+
         // 2. ANÁLISE LÉXICA
         System.out.println("--- 1. Análise Léxica ---");
-        AnalisadorLexico lexico = new AnalisadorLexico(codigoFonte);
-        List<Token> tokens = lexico.scanTokens();
-        
-        // (Opcional) Imprimir tokens para conferência
-        // for (Token t : tokens) System.out.println(t);
-        System.out.println("Tokens gerados: " + tokens.size());
+        imprimirDiagnosticos(resultado, Diagnostico.Fase.LEXICA);
+        // (Opcional) Imprimir tokens para conferência: new AnalisadorLexico(codigoFonte).scanTokens()
+        System.out.println("Tokens gerados: " + resultado.quantidadeTokens);
         System.out.println("Status: OK\n");
 
         // 3. ANÁLISE SINTÁTICA
         System.out.println("--- 2. Análise Sintática ---");
-        AnalisadorSintatico sintatico = new AnalisadorSintatico(tokens);
-        sintatico.parse();
-        
-        System.out.println("Classes encontradas: " + sintatico.classes.size());
-        System.out.println("Relacionamentos encontrados: " + sintatico.relacionamentos.size());
-        
+        imprimirDiagnosticos(resultado, Diagnostico.Fase.SINTATICA);
+        System.out.println("Classes encontradas: " + diagrama.classes.size());
+        System.out.println("Relacionamentos encontrados: " + diagrama.relacionamentos.size());
+
         // Exibe as classes lidas (resumo)
-        for (ClasseUML c : sintatico.classes) {
+        for (ClasseUML c : diagrama.classes) {
             System.out.println(" > Classe: " + c.nome + " (" + c.atributos.size() + " atributos, " + c.metodos.size() + " métodos)");
         }
         System.out.println("Status: OK\n");
 
         // 4. ANÁLISE SEMÂNTICA (A novidade!)
         System.out.println("--- 3. Análise Semântica ---");
-        AnalisadorSemantico semantico = new AnalisadorSemantico(sintatico.classes, sintatico.relacionamentos);
-        boolean temErrosSemanticos = semantico.analisar();
+        System.out.println("Verificando consistência do diagrama...");
+        imprimirDiagnosticos(resultado, Diagnostico.Fase.SEMANTICA);
 
-        if (temErrosSemanticos) {
+        if (resultado.temErros(Diagnostico.Fase.SEMANTICA)) {
             System.err.println("\n[AVISO] Foram encontrados erros semânticos. O diagrama pode conter inconsistências.");
             // Você pode optar por parar aqui com 'return;' se quiser ser rigoroso.
         } else {
+            System.out.println("Sucesso: Nenhuma inconsistência semântica encontrada.");
             System.out.println("Status: OK (Nenhuma inconsistência encontrada)\n");
         }
 
         // 5. GERAÇÃO DE CÓDIGO (SVG)
         System.out.println("--- 4. Geração de Código (SVG) ---");
-        try {
-            // AGORA PASSAMOS O TÍTULO PARA O CONSTRUTOR!
-            GeradorSVG gerador = new GeradorSVG(sintatico.classes, sintatico.relacionamentos, sintatico.titulo);
-            gerador.gerarArquivo("diagrama.svg");
-            System.out.println("Arquivo 'diagrama.svg' gerado com sucesso! Título: " + sintatico.titulo);
+        try (FileWriter writer = new FileWriter(arquivoSaida)) {
+            writer.write(resultado.svg);
+            System.out.println("Arquivo '" + arquivoSaida + "' gerado com sucesso! Título: " + diagrama.titulo);
+            System.out.println("Nível de detalhe: " + opcoes.nivelPara(diagrama));
         } catch (IOException e) {
             System.err.println("Erro ao gravar o arquivo SVG: " + e.getMessage());
         }
@@ -73,4 +96,10 @@ public class App {
         System.out.println("   PROCESSO CONCLUÍDO   ");
         System.out.println("=============================================");
     }
+
+    private static void imprimirDiagnosticos(ResultadoCompilacao resultado, Diagnostico.Fase fase) {
+        for (Diagnostico d : resultado.diagnosticos) {
+            if (d.fase == fase) System.err.println(d);
+        }
+    }
 }
\ No newline at end of file
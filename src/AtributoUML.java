@@ -2,11 +2,17 @@ public class AtributoUML {
     public final String visibilidade; // +, -, #
     public final String nome;
     public final String tipo;
+    public final Trecho trecho;
 
     public AtributoUML(String visibilidade, String nome, String tipo) {
+        this(visibilidade, nome, tipo, Trecho.VAZIO);
+    }
+
+    public AtributoUML(String visibilidade, String nome, String tipo, Trecho trecho) {
         this.visibilidade = visibilidade;
         this.nome = nome;
         this.tipo = tipo;
+        this.trecho = trecho;
     }
 
     @Override
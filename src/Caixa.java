@@ -0,0 +1,14 @@
+/**
+ * Retângulo ocupado por uma classe no desenho. Fica separado do ClasseUML para que o modelo
+ * continue imutável: cada renderização calcula as suas próprias caixas.
+ */
+public class Caixa {
+    public int x, y;
+    public final int largura;
+    public final int altura;
+
+    public Caixa(int largura, int altura) {
+        this.largura = largura;
+        this.altura = altura;
+    }
+}
@@ -1,14 +1,20 @@
 import java.util.List;
-import java.util.ArrayList;
 
 public class ClasseUML {
     public final String nome;
-    public final List<AtributoUML> atributos = new ArrayList<>();
-    public final List<MetodoUML> metodos = new ArrayList<>();
-    public int x, y, width, height;
+    public final List<AtributoUML> atributos; // listas imutáveis: o modelo pode ser compartilhado entre threads
+    public final List<MetodoUML> metodos;
+    public final Trecho trecho; // de 'class' até o '}' (ou o nome, se não houver corpo)
 
-    public ClasseUML(String nome) {
+    public ClasseUML(String nome, List<AtributoUML> atributos, List<MetodoUML> metodos) {
+        this(nome, atributos, metodos, Trecho.VAZIO);
+    }
+
+    public ClasseUML(String nome, List<AtributoUML> atributos, List<MetodoUML> metodos, Trecho trecho) {
         this.nome = nome;
+        this.atributos = List.copyOf(atributos);
+        this.metodos = List.copyOf(metodos);
+        this.trecho = trecho;
     }
 
     @Override
@@ -24,4 +30,4 @@ public class ClasseUML {
         }
         return sb.toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,63 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ponto de entrada da biblioteca: PlantUML (texto) -> DiagramaUML -> SVG.
+ *
+ * Não guarda estado entre chamadas e não altera o diagrama recebido, então qualquer número de
+ * threads pode compilar e renderizar ao mesmo tempo (inclusive o mesmo DiagramaUML).
+ */
+public final class CompiladorPlantUML {
+
+    private CompiladorPlantUML() {
+    }
+
+    /**
+     * Compila o texto. Se algum limite de opcoes.limites estourar, a compilação para na hora e o
+     * resultado volta sem SVG, com um diagnóstico da fase LIMITE explicando o motivo.
+     */
+    public static ResultadoCompilacao compilar(String codigoFonte, OpcoesCompilacao opcoes) {
+        List<Diagnostico> diagnosticos = new ArrayList<>();
+        ControleRecursos controle = new ControleRecursos(opcoes.limites);
+        DiagramaUML diagrama = new DiagramaUML("", List.of(), List.of());
+        int quantidadeTokens = 0;
+
+        try {
+            controle.verificarEntrada(codigoFonte);
+
+            // 1. Análise Léxica
+            AnalisadorLexico lexico = new AnalisadorLexico(codigoFonte, controle);
+            List<Token> tokens = lexico.scanTokens();
+            quantidadeTokens = tokens.size();
+            diagnosticos.addAll(lexico.getDiagnosticos());
+
+            // 2. Análise Sintática
+            AnalisadorSintatico sintatico = new AnalisadorSintatico(codigoFonte, tokens, controle);
+            diagrama = sintatico.parse();
+            diagnosticos.addAll(sintatico.getDiagnosticos());
+
+            // 3. Análise Semântica
+            AnalisadorSemantico semantico = new AnalisadorSemantico(diagrama, controle);
+            semantico.analisar();
+            diagnosticos.addAll(semantico.getDiagnosticos());
+
+            // 4. Geração de Código (mesmo com erros semânticos, como o App sempre fez)
+            String svg = opcoes.gerarSvg ? new GeradorSVG(diagrama, opcoes, controle).gerar() : null;
+
+            return new ResultadoCompilacao(diagrama, quantidadeTokens, diagnosticos, svg);
+
+        } catch (LimiteExcedidoException e) {
+            diagnosticos.add(new Diagnostico(Diagnostico.Fase.LIMITE, e.getMessage()));
+            return new ResultadoCompilacao(diagrama, quantidadeTokens, diagnosticos, null);
+        }
+    }
+
+    /**
+     * Renderiza um diagrama já analisado. Pode ser chamado várias vezes (e em paralelo)
+     * para o mesmo diagrama com opções diferentes. Os limites das opções valem a partir daqui.
+     * @throws LimiteExcedidoException se o diagrama passar de algum limite
+     */
+    public static String renderizar(DiagramaUML diagrama, OpcoesCompilacao opcoes) {
+        return new GeradorSVG(diagrama, opcoes).gerar();
+    }
+}
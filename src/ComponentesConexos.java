@@ -0,0 +1,118 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grafo dos relacionamentos (classes = vértices) separado em componentes conexos.
+ * Tudo é construído em tempo linear: índice por nome, adjacência compacta (CSR) e uma busca em largura.
+ */
+public class ComponentesConexos {
+
+    private final List<ClasseUML> classes;
+    private final Map<String, Integer> indices;
+    private final int[] grau;
+    private final int[] inicioAdjacencia; // vizinhos de i ficam em adjacencia[inicio[i] .. inicio[i+1])
+    private final int[] adjacencia;
+    private final int[] componenteDe;
+    private final List<int[]> componentes = new ArrayList<>();
+
+    public ComponentesConexos(List<ClasseUML> classes, List<RelacionamentoUML> relacionamentos) {
+        this.classes = classes;
+        int n = classes.size();
+
+        indices = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            indices.putIfAbsent(classes.get(i).nome, i);
+        }
+
+        // arestas válidas (relacionamentos com classe não declarada ficam de fora)
+        int[] origens = new int[relacionamentos.size()];
+        int[] destinos = new int[relacionamentos.size()];
+        int arestas = 0;
+        grau = new int[n];
+        for (RelacionamentoUML r : relacionamentos) {
+            Integer o = indices.get(r.classeOrigem);
+            Integer d = indices.get(r.classeDestino);
+            if (o == null || d == null) continue;
+            origens[arestas] = o;
+            destinos[arestas] = d;
+            arestas++;
+            grau[o]++;
+            grau[d]++;
+        }
+
+        inicioAdjacencia = new int[n + 1];
+        for (int i = 0; i < n; i++) inicioAdjacencia[i + 1] = inicioAdjacencia[i] + grau[i];
+        adjacencia = new int[inicioAdjacencia[n]];
+        int[] proximo = new int[n];
+        for (int e = 0; e < arestas; e++) {
+            int o = origens[e], d = destinos[e];
+            adjacencia[inicioAdjacencia[o] + proximo[o]++] = d;
+            adjacencia[inicioAdjacencia[d] + proximo[d]++] = o;
+        }
+
+        // busca em largura a partir de cada classe ainda sem componente (ordem do código-fonte)
+        componenteDe = new int[n];
+        Arrays.fill(componenteDe, -1);
+        int[] fila = new int[n];
+        for (int raiz = 0; raiz < n; raiz++) {
+            if (componenteDe[raiz] != -1) continue;
+            int id = componentes.size();
+            int inicio = 0, fim = 0;
+            fila[fim++] = raiz;
+            componenteDe[raiz] = id;
+            while (inicio < fim) {
+                int atual = fila[inicio++];
+                for (int k = inicioAdjacencia[atual]; k < inicioAdjacencia[atual + 1]; k++) {
+                    int v = adjacencia[k];
+                    if (componenteDe[v] == -1) {
+                        componenteDe[v] = id;
+                        fila[fim++] = v;
+                    }
+                }
+            }
+            componentes.add(Arrays.copyOf(fila, fim));
+        }
+    }
+
+    public int quantidadeClasses() {
+        return classes.size();
+    }
+
+    public int quantidadeComponentes() {
+        return componentes.size();
+    }
+
+    /**
+     * Índices das classes do componente, em ordem de busca em largura.
+     */
+    public int[] membros(int componente) {
+        return componentes.get(componente);
+    }
+
+    public int componenteDe(int indiceClasse) {
+        return componenteDe[indiceClasse];
+    }
+
+    public ClasseUML classe(int indiceClasse) {
+        return classes.get(indiceClasse);
+    }
+
+    /**
+     * Índice da classe pelo nome, ou -1 se ela não existir.
+     */
+    public int indice(String nomeClasse) {
+        Integer i = indices.get(nomeClasse);
+        return i == null ? -1 : i;
+    }
+
+    public int grau(int indiceClasse) {
+        return grau[indiceClasse];
+    }
+
+    public int vizinho(int indiceClasse, int k) {
+        return adjacencia[inicioAdjacencia[indiceClasse] + k];
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Acompanha os limites de uma compilação (ou renderização) em andamento.
+ * Cada fase chama os "verificar..." de tempos em tempos; estourou, sai com LimiteExcedidoException.
+ * Pode ser consultado por várias threads (o prazo é só leitura depois de criado).
+ */
+public class ControleRecursos {
+
+    private final LimitesCompilacao limites;
+    private final long prazoNanos; // System.nanoTime() limite, ou 0 se não houver prazo
+
+    public ControleRecursos(LimitesCompilacao limites) {
+        this.limites = limites;
+        this.prazoNanos = limites.tempoMaximoMs > 0
+                ? System.nanoTime() + limites.tempoMaximoMs * 1_000_000L
+                : 0;
+    }
+
+    public static ControleRecursos semLimites() {
+        return new ControleRecursos(LimitesCompilacao.SEM_LIMITES);
+    }
+
+    public void verificarPrazo() {
+        if (prazoNanos != 0 && System.nanoTime() - prazoNanos > 0) {
+            throw new LimiteExcedidoException("Tempo máximo de compilação (" + limites.tempoMaximoMs + " ms) esgotado.");
+        }
+    }
+
+    /**
+     * Conta os bytes em UTF-8 sem gerar o array (para no primeiro caractere além do limite).
+     */
+    public void verificarEntrada(String codigoFonte) {
+        long maximo = limites.maxBytesEntrada;
+        if (maximo <= 0 || codigoFonte.length() * 3L <= maximo) return;
+
+        long bytes = 0;
+        for (int i = 0; i < codigoFonte.length(); i++) {
+            char c = codigoFonte.charAt(i);
+            if (c < 0x80) bytes += 1;
+            else if (c < 0x800) bytes += 2;
+            else if (Character.isHighSurrogate(c)) { bytes += 4; i++; }
+            else bytes += 3;
+            if (bytes > maximo) {
+                throw new LimiteExcedidoException("Entrada maior que o limite de " + maximo + " bytes.");
+            }
+        }
+    }
+
+    public void verificarTokens(int quantidade) {
+        verificar(quantidade, limites.maxTokens, "tokens");
+    }
+
+    public void verificarClasses(int quantidade) {
+        verificar(quantidade, limites.maxClasses, "classes");
+    }
+
+    public void verificarRelacionamentos(int quantidade) {
+        verificar(quantidade, limites.maxRelacionamentos, "relacionamentos");
+    }
+
+    public void verificarMembros(String nomeClasse, int quantidade) {
+        if (limites.maxMembrosPorClasse > 0 && quantidade > limites.maxMembrosPorClasse) {
+            throw new LimiteExcedidoException("A classe '" + nomeClasse + "' passou do limite de "
+                    + limites.maxMembrosPorClasse + " membros.");
+        }
+    }
+
+    public void verificarDiagnosticos(int quantidade) {
+        if (limites.maxDiagnosticos > 0 && quantidade > limites.maxDiagnosticos) {
+            throw new LimiteExcedidoException("Mais de " + limites.maxDiagnosticos
+                    + " erros encontrados em uma mesma fase.");
+        }
+    }
+
+    private void verificar(int quantidade, int maximo, String recurso) {
+        if (maximo > 0 && quantidade > maximo) {
+            throw new LimiteExcedidoException("Limite de " + maximo + " " + recurso + " excedido.");
+        }
+    }
+}
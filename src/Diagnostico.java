@@ -0,0 +1,37 @@
+/**
+ * Um erro ou aviso encontrado durante a compilação.
+ */
+public class Diagnostico {
+
+    public enum Fase {
+        LEXICA("Erro Léxico: "),
+        SINTATICA("Erro Sintático: "),
+        SEMANTICA("ERRO SEMÂNTICO: "),
+        LIMITE("Entrada rejeitada: ");
+
+        private final String prefixo;
+
+        Fase(String prefixo) {
+            this.prefixo = prefixo;
+        }
+    }
+
+    public final Fase fase;
+    public final String mensagem;
+    public final Trecho trecho; // onde no código-fonte (VAZIO quando o erro não tem lugar, ex.: limites)
+
+    public Diagnostico(Fase fase, String mensagem) {
+        this(fase, mensagem, Trecho.VAZIO);
+    }
+
+    public Diagnostico(Fase fase, String mensagem, Trecho trecho) {
+        this.fase = fase;
+        this.mensagem = mensagem;
+        this.trecho = trecho;
+    }
+
+    @Override
+    public String toString() {
+        return fase.prefixo + mensagem;
+    }
+}
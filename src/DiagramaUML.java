@@ -0,0 +1,29 @@
+import java.util.List;
+
+/**
+ * Resultado da análise sintática (a "AST"): título, classes e relacionamentos.
+ * Imutável, então um mesmo diagrama pode ser renderizado por várias threads ao mesmo tempo.
+ */
+public class DiagramaUML {
+    public final String titulo;
+    public final List<ClasseUML> classes;
+    public final List<RelacionamentoUML> relacionamentos;
+    public final Trecho trechoTitulo; // a declaração 'title ...' inteira
+
+    public DiagramaUML(String titulo, List<ClasseUML> classes, List<RelacionamentoUML> relacionamentos) {
+        this(titulo, Trecho.VAZIO, classes, relacionamentos);
+    }
+
+    public DiagramaUML(String titulo, Trecho trechoTitulo, List<ClasseUML> classes, List<RelacionamentoUML> relacionamentos) {
+        this.titulo = titulo;
+        this.trechoTitulo = trechoTitulo;
+        this.classes = List.copyOf(classes);
+        this.relacionamentos = List.copyOf(relacionamentos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Diagrama [Título: '%s', Classes: %d, Relacionamentos: %d]",
+                titulo, classes.size(), relacionamentos.size());
+    }
+}
@@ -0,0 +1,81 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Posições do layout salvas em um arquivo ao lado do SVG (uma linha por classe).
+ * Permite que a próxima execução reaproveite as coordenadas e só posicione o que mudou.
+ *
+ * Formato: nome \t x \t y \t assinatura
+ */
+public class EstadoLayout {
+
+    private static final String CABECALHO = "# layout CompiladorPlantUML v1";
+
+    public static class Posicao {
+        public final int x, y;
+        public final String assinatura; // resumo do conteúdo da classe (muda quando a caixa muda)
+
+        public Posicao(int x, int y, String assinatura) {
+            this.x = x;
+            this.y = y;
+            this.assinatura = assinatura;
+        }
+    }
+
+    private final Map<String, Posicao> posicoes = new LinkedHashMap<>();
+
+    /**
+     * Lê o arquivo de layout. Se ele não existir (ou estiver corrompido) o estado volta vazio,
+     * e o gerador faz o layout completo.
+     */
+    public static EstadoLayout carregar(Path arquivo) {
+        EstadoLayout estado = new EstadoLayout();
+        if (!Files.isRegularFile(arquivo)) return estado;
+
+        try (BufferedReader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            String linha = leitor.readLine();
+            if (!CABECALHO.equals(linha)) return estado; // formato desconhecido: ignora
+
+            while ((linha = leitor.readLine()) != null) {
+                String[] campos = linha.split("\t");
+                if (campos.length != 4) continue;
+                try {
+                    int x = Integer.parseInt(campos[1]);
+                    int y = Integer.parseInt(campos[2]);
+                    estado.posicoes.put(campos[0], new Posicao(x, y, campos[3]));
+                } catch (NumberFormatException e) {
+                    // linha inválida: a classe será posicionada de novo
+                }
+            }
+        } catch (IOException e) {
+            estado.posicoes.clear();
+        }
+        return estado;
+    }
+
+    public void salvar(Path arquivo) throws IOException {
+        try (BufferedWriter escritor = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            escritor.write(CABECALHO);
+            escritor.newLine();
+            for (Map.Entry<String, Posicao> e : posicoes.entrySet()) {
+                Posicao p = e.getValue();
+                escritor.write(e.getKey() + "\t" + p.x + "\t" + p.y + "\t" + p.assinatura);
+                escritor.newLine();
+            }
+        }
+    }
+
+    public Posicao buscar(String nomeClasse) {
+        return posicoes.get(nomeClasse);
+    }
+
+    public void registrar(String nomeClasse, int x, int y, String assinatura) {
+        posicoes.put(nomeClasse, new Posicao(x, y, assinatura));
+    }
+}
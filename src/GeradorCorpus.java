@@ -0,0 +1,160 @@
+import java.util.Random;
+
+/**
+ * Gera diagramas PlantUML sintéticos (válidos para a gramática em Gramatica.txt) para medir o
+ * compilador em escala. A mesma semente sempre gera o mesmo texto.
+ */
+public class GeradorCorpus {
+
+    public enum Topologia {
+        ARVORE,        // cada classe liga a uma classe anterior (n - 1 relacionamentos)
+        DAG,           // cada classe liga a ~densidade classes anteriores
+        CLIQUES,       // grupos em que todo mundo liga com todo mundo
+        AGRUPAMENTOS   // vários grupos desconexos, ligações aleatórias só dentro do grupo
+    }
+
+    /**
+     * Texto gerado e o que o parser deve encontrar nele.
+     */
+    public static class Corpus {
+        public final String texto;
+        public final int classes;
+        public final int relacionamentos;
+
+        Corpus(String texto, int classes, int relacionamentos) {
+            this.texto = texto;
+            this.classes = classes;
+            this.relacionamentos = relacionamentos;
+        }
+    }
+
+    private static final String[] OPERADORES = { "-->", "<|--", "*--", "o--", "--", "<|.." };
+    private static final String[] TIPOS = { "int", "String", "Date", "boolean", "double" };
+    private static final String[] VISIBILIDADES = { "+", "-", "#", "~" };
+    private static final int TAMANHO_AGRUPAMENTO = 20;
+
+    private final int quantidadeClasses;
+    private final int membrosPorClasse;
+    private final double densidade; // relacionamentos por classe (ignorada na árvore)
+    private final Topologia topologia;
+    private final long semente;
+
+    public GeradorCorpus(int quantidadeClasses, int membrosPorClasse, double densidade, Topologia topologia, long semente) {
+        this.quantidadeClasses = quantidadeClasses;
+        this.membrosPorClasse = membrosPorClasse;
+        this.densidade = densidade;
+        this.topologia = topologia;
+        this.semente = semente;
+    }
+
+    /**
+     * Uso: java GeradorCorpus [classes] [membros] [densidade] [ARVORE|DAG|CLIQUES|AGRUPAMENTOS] [semente]
+     * Escreve o PlantUML na saída padrão.
+     */
+    public static void main(String[] args) {
+        int classes = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int membros = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        double densidade = args.length > 2 ? Double.parseDouble(args[2]) : 1.5;
+        Topologia topologia = args.length > 3 ? Topologia.valueOf(args[3]) : Topologia.DAG;
+        long semente = args.length > 4 ? Long.parseLong(args[4]) : 42;
+
+        System.out.print(new GeradorCorpus(classes, membros, densidade, topologia, semente).gerar().texto);
+    }
+
+    public Corpus gerar() {
+        Random aleatorio = new Random(semente);
+        StringBuilder sb = new StringBuilder(quantidadeClasses * (40 + membrosPorClasse * 20));
+
+        sb.append("@startuml\n");
+        // texto livre sem dígitos: o léxico não aceita tokens começando por número
+        sb.append("title Corpus sintetico ").append(topologia).append("\n\n");
+
+        for (int i = 0; i < quantidadeClasses; i++) {
+            sb.append("class ").append(nome(i));
+            if (membrosPorClasse > 0) {
+                sb.append(" {\n");
+                for (int m = 0; m < membrosPorClasse; m++) {
+                    sb.append("  ").append(VISIBILIDADES[aleatorio.nextInt(VISIBILIDADES.length)]);
+                    if (m % 3 == 2) {
+                        sb.append(" operacao").append(m).append("()");
+                    } else {
+                        sb.append(" campo").append(m);
+                    }
+                    sb.append(": ").append(TIPOS[aleatorio.nextInt(TIPOS.length)]).append('\n');
+                }
+                sb.append("}");
+            }
+            sb.append("\n");
+        }
+        sb.append("\n' Relacionamentos\n");
+
+        int relacionamentos = 0;
+        switch (topologia) {
+            case ARVORE:
+                for (int i = 1; i < quantidadeClasses; i++) {
+                    relacionamento(sb, aleatorio, aleatorio.nextInt(i), i);
+                    relacionamentos++;
+                }
+                break;
+
+            case DAG:
+                for (int i = 1; i < quantidadeClasses; i++) {
+                    int ligacoes = Math.max(1, (int) Math.round(densidade * (0.5 + aleatorio.nextDouble())));
+                    for (int k = 0; k < ligacoes; k++) {
+                        relacionamento(sb, aleatorio, aleatorio.nextInt(i), i);
+                        relacionamentos++;
+                    }
+                }
+                break;
+
+            case CLIQUES: {
+                // clique de tamanho t tem (t - 1) / 2 relacionamentos por classe
+                int tamanho = Math.max(2, (int) Math.round(2 * densidade + 1));
+                for (int inicio = 0; inicio < quantidadeClasses; inicio += tamanho) {
+                    int fim = Math.min(quantidadeClasses, inicio + tamanho);
+                    for (int a = inicio; a < fim; a++) {
+                        for (int b = a + 1; b < fim; b++) {
+                            relacionamento(sb, aleatorio, a, b);
+                            relacionamentos++;
+                        }
+                    }
+                }
+                break;
+            }
+
+            case AGRUPAMENTOS:
+                for (int inicio = 0; inicio < quantidadeClasses; inicio += TAMANHO_AGRUPAMENTO) {
+                    int fim = Math.min(quantidadeClasses, inicio + TAMANHO_AGRUPAMENTO);
+                    // uma árvore garante que o grupo é conexo; o resto da densidade vira ligações extras
+                    for (int i = inicio + 1; i < fim; i++) {
+                        relacionamento(sb, aleatorio, inicio + aleatorio.nextInt(i - inicio), i);
+                        relacionamentos++;
+                    }
+                    int extras = (int) Math.round(Math.max(0, densidade - 1) * (fim - inicio));
+                    for (int k = 0; k < extras; k++) {
+                        relacionamento(sb, aleatorio, inicio + aleatorio.nextInt(fim - inicio),
+                                inicio + aleatorio.nextInt(fim - inicio));
+                        relacionamentos++;
+                    }
+                }
+                break;
+        }
+
+        sb.append("@enduml\n");
+        return new Corpus(sb.toString(), quantidadeClasses, relacionamentos);
+    }
+
+    private static void relacionamento(StringBuilder sb, Random aleatorio, int origem, int destino) {
+        sb.append(nome(origem)).append(' ')
+          .append(OPERADORES[aleatorio.nextInt(OPERADORES.length)]).append(' ')
+          .append(nome(destino));
+        if (aleatorio.nextInt(3) == 0) {
+            sb.append(" : usa >");
+        }
+        sb.append('\n');
+    }
+
+    private static String nome(int indice) {
+        return "Classe" + indice;
+    }
+}
@@ -1,158 +1,464 @@
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Collections;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ObjIntConsumer;
 
 public class GeradorSVG {
 
-    private final List<ClasseUML> classes;
-    private final List<RelacionamentoUML> relacionamentos;
-    private final String titulo; // <--- NOVO CAMPO
+    private final DiagramaUML diagrama;
+    private final String titulo;
+    private final OpcoesCompilacao opcoes;
+    private final ControleRecursos controle;
 
-    // Construtor atualizado para receber o Título
-    public GeradorSVG(List<ClasseUML> classes, List<RelacionamentoUML> relacionamentos, String titulo) {
-        this.classes = classes;
-        this.relacionamentos = relacionamentos;
-        this.titulo = titulo;
+    // Dimensões das caixas: a largura acompanha o conteúdo, com um mínimo para classes vazias
+    private static final int LARGURA_MINIMA_BOX = 80;
+    private static final int MARGEM_TEXTO = 10;
+    private static final int MARGEM_TITULO = 15;
+    private static final int ALTURA_CABECALHO = 30;
+
+    // Canvas mínimo (cresce se o layout salvo ocupar mais espaço)
+    private static final int LARGURA_CANVAS = 1400;
+    private static final int ALTURA_CANVAS = 1200;
+    private static final int MARGEM_CANVAS = 20;
+    private static final int TOPO_CANVAS = 60; // espaço reservado para o título
+
+    // Distância mínima entre caixas ao encaixar classes novas ou alteradas
+    private static final int ESPACO_ENTRE_CAIXAS = 30;
+    private static final int PASSO_BUSCA = 20;
+    private static final int RAIO_MAXIMO_BUSCA = 2000;
+
+    // Emissão paralela: abaixo disso o custo de dividir a tarefa supera o ganho
+    private static final int FRAGMENTOS_PARA_PARALELO = 1024;
+    private static final int FRAGMENTOS_POR_TAREFA = 256;
+
+    // <defs> e <style> não dependem do diagrama: uma constante montada pelo compilador Java
+    private static final String PREAMBULO =
+            "<defs>\n" +
+            "<filter id=\"sombra\" x=\"0\" y=\"0\" width=\"200%\" height=\"200%\">\n" +
+            "<feOffset result=\"offOut\" in=\"SourceAlpha\" dx=\"3\" dy=\"3\" />\n" +
+            "<feGaussianBlur result=\"blurOut\" in=\"offOut\" stdDeviation=\"2\" />\n" +
+            "<feBlend in=\"SourceGraphic\" in2=\"blurOut\" mode=\"normal\" />\n" +
+            "</filter>\n" +
+            "<marker id=\"seta_open\" markerWidth=\"12\" markerHeight=\"12\" refX=\"9\" refY=\"3\" orient=\"auto\"><path d=\"M0,0 L0,6 L9,3 z\" fill=\"black\" /></marker>\n" +
+            "<marker id=\"seta_heranca\" markerWidth=\"16\" markerHeight=\"16\" refX=\"14\" refY=\"7\" orient=\"auto\"><path d=\"M0,0 L14,7 L0,14 L0,0\" fill=\"white\" stroke=\"black\" /></marker>\n" +
+            "<marker id=\"seta_agregacao\" markerWidth=\"18\" markerHeight=\"12\" refX=\"16\" refY=\"5\" orient=\"auto\"><path d=\"M0,5 L8,0 L16,5 L8,10 z\" fill=\"white\" stroke=\"black\" /></marker>\n" +
+            "<marker id=\"seta_composicao\" markerWidth=\"18\" markerHeight=\"12\" refX=\"16\" refY=\"5\" orient=\"auto\"><path d=\"M0,5 L8,0 L16,5 L8,10 z\" fill=\"black\" stroke=\"black\" /></marker>\n" +
+            "</defs>\n" +
+            "<style>\n" +
+            ".texto { font-family: Arial, sans-serif; font-size: 12px; fill: #333; }\n" +
+            ".titulo { font-family: Arial, sans-serif; font-size: 14px; font-weight: bold; fill: black; }\n" +
+            // Estilo novo para o título principal
+            ".titulo-diagrama { font-family: Arial, sans-serif; font-size: 24px; font-weight: bold; fill: #2c3e50; }\n" +
+            ".box { fill: #fff; stroke: #333; stroke-width: 1; filter: url(#sombra); }\n" +
+            ".header-box { fill: #f0f0f0; stroke: #333; stroke-width: 1; }\n" +
+            ".linha { stroke: #333; stroke-width: 1.5; }\n" +
+            ".label-bg { fill: white; opacity: 0.9; }\n" +
+            "</style>\n";
+
+    /**
+     * O gerador só lê o diagrama: posições e tamanhos ficam em caixas próprias de cada chamada,
+     * então o mesmo diagrama pode ser renderizado várias vezes, inclusive em paralelo.
+     */
+    public GeradorSVG(DiagramaUML diagrama, OpcoesCompilacao opcoes) {
+        this(diagrama, opcoes, new ControleRecursos(opcoes.limites));
+    }
+
+    /**
+     * Usa o controle de recursos de uma compilação já em andamento (o prazo continua correndo).
+     */
+    public GeradorSVG(DiagramaUML diagrama, OpcoesCompilacao opcoes, ControleRecursos controle) {
+        this.diagrama = diagrama;
+        this.titulo = diagrama.titulo;
+        this.opcoes = opcoes;
+        this.controle = controle;
     }
 
-    public void gerarArquivo(String caminhoArquivo) throws IOException {
+    /**
+     * Gera o SVG. Se as opções tiverem um arquivo de layout, as posições ficam salvas nele; na
+     * próxima execução as classes conhecidas mantêm o lugar e só as novas/alteradas são encaixadas.
+     * O nível de detalhe (opcoes.nivelPara) decide quais linhas entram em cada caixa.
+     */
+    public String gerar() {
+        // o diagrama pode ter sido montado fora do parser, então os limites são conferidos de novo
+        controle.verificarClasses(diagrama.classes.size());
+        controle.verificarRelacionamentos(diagrama.relacionamentos.size());
+
+        NivelDetalhe nivel = opcoes.nivelPara(diagrama);
+        // no nível AGRUPADO o resumo é desenhado no lugar do diagrama: cada grupo vira uma caixa
+        AgrupamentoClasses agrupamento = nivel == NivelDetalhe.AGRUPADO
+                ? new AgrupamentoClasses(diagrama, opcoes.limiaresDetalhe.maxGrupos, controle)
+                : null;
+        List<ClasseUML> classes = agrupamento != null ? agrupamento.resumo.classes : diagrama.classes;
+        List<RelacionamentoUML> relacionamentos = agrupamento != null ? agrupamento.resumo.relacionamentos : diagrama.relacionamentos;
+        String[][] linhasGrupo = agrupamento != null ? agrupamento.linhasGrupo : null;
+        boolean soCabecalho = nivel == NivelDetalhe.CABECALHOS;
+
         StringBuilder svg = new StringBuilder();
-        
-        // Lógica de Centralidade (Mantida igual)
-        Map<String, Integer> conexoes = new HashMap<>();
-        for (ClasseUML c : classes) conexoes.put(c.nome, 0);
-        for (RelacionamentoUML r : relacionamentos) {
-            conexoes.put(r.classeOrigem, conexoes.getOrDefault(r.classeOrigem, 0) + 1);
-            conexoes.put(r.classeDestino, conexoes.getOrDefault(r.classeDestino, 0) + 1);
-        }
-        Collections.sort(classes, (c1, c2) -> conexoes.getOrDefault(c2.nome, 0) - conexoes.getOrDefault(c1.nome, 0));
-        
+
+        EstadoLayout estadoAnterior = opcoes.arquivoLayout == null
+                ? new EstadoLayout()
+                : EstadoLayout.carregar(opcoes.arquivoLayout);
+        boolean incremental = false;
+        for (ClasseUML c : classes) {
+            if (estadoAnterior.buscar(c.nome) != null) { incremental = true; break; }
+        }
+
+        // Medidas: monta as linhas antes de desenhar, a largura da caixa depende do conteúdo
+        String[][] linhasAtributos = new String[classes.size()][];
+        String[][] linhasMetodos = new String[classes.size()][];
+        String[] assinaturas = new String[classes.size()];
+        Caixa[] caixas = new Caixa[classes.size()];
+        for (int i = 0; i < classes.size(); i++) {
+            if (i % 256 == 0) controle.verificarPrazo();
+            ClasseUML classe = classes.get(i);
+            if (linhasGrupo != null) {
+                linhasAtributos[i] = linhasGrupo[i];
+                linhasMetodos[i] = new String[0];
+            } else {
+                linhasAtributos[i] = linhasAtributos(classe, nivel);
+                linhasMetodos[i] = linhasMetodos(classe, nivel);
+            }
+            int altura = soCabecalho ? ALTURA_CABECALHO
+                    : ALTURA_CABECALHO + (linhasAtributos[i].length * 15) + 10 + (linhasMetodos[i].length * 15) + 10 + 5;
+            caixas[i] = new Caixa(larguraConteudo(classe.nome, linhasAtributos[i], linhasMetodos[i]), altura);
+            assinaturas[i] = assinatura(classe, caixas[i], linhasAtributos[i], linhasMetodos[i]);
+        }
+
+        // Layout: componentes conexos desenhados separadamente e empacotados no canvas
+        ComponentesConexos grafo = new ComponentesConexos(classes, relacionamentos);
+        LayoutComponentes layout = new LayoutComponentes(grafo, caixas, controle);
+        if (incremental) {
+            posicionarIncremental(classes, estadoAnterior, assinaturas, grafo, caixas, layout);
+        } else {
+            int[] todos = new int[grafo.quantidadeComponentes()];
+            for (int c = 0; c < todos.length; c++) todos[c] = c;
+            layout.posicionar(todos, MARGEM_CANVAS, TOPO_CANVAS, LARGURA_CANVAS - 2 * MARGEM_CANVAS);
+        }
+
         // Canvas
-        int larguraBox = 220;
-        int larguraCanvas = 1400; 
-        int alturaCanvas = 1200;
+        int larguraCanvas = LARGURA_CANVAS;
+        int alturaCanvas = ALTURA_CANVAS;
+        for (Caixa c : caixas) {
+            larguraCanvas = Math.max(larguraCanvas, c.x + c.largura + MARGEM_CANVAS);
+            alturaCanvas = Math.max(alturaCanvas, c.y + c.altura + MARGEM_CANVAS);
+        }
         int centroX = larguraCanvas / 2;
-        int centroY = alturaCanvas / 2;
-        int raioX = 550; 
-        int raioY = 450; 
 
         svg.append(String.format("<svg width=\"%d\" height=\"%d\" xmlns=\"http://www.w3.org/2000/svg\">\n", larguraCanvas, alturaCanvas));
-        
-        // Definições (Mantidas iguais)
-        svg.append("<defs>\n");
-        svg.append("<filter id=\"sombra\" x=\"0\" y=\"0\" width=\"200%\" height=\"200%\">\n");
-        svg.append("<feOffset result=\"offOut\" in=\"SourceAlpha\" dx=\"3\" dy=\"3\" />\n");
-        svg.append("<feGaussianBlur result=\"blurOut\" in=\"offOut\" stdDeviation=\"2\" />\n");
-        svg.append("<feBlend in=\"SourceGraphic\" in2=\"blurOut\" mode=\"normal\" />\n");
-        svg.append("</filter>\n");
-        svg.append("<marker id=\"seta_open\" markerWidth=\"12\" markerHeight=\"12\" refX=\"9\" refY=\"3\" orient=\"auto\"><path d=\"M0,0 L0,6 L9,3 z\" fill=\"black\" /></marker>\n");
-        svg.append("<marker id=\"seta_heranca\" markerWidth=\"16\" markerHeight=\"16\" refX=\"14\" refY=\"7\" orient=\"auto\"><path d=\"M0,0 L14,7 L0,14 L0,0\" fill=\"white\" stroke=\"black\" /></marker>\n");
-        svg.append("<marker id=\"seta_agregacao\" markerWidth=\"18\" markerHeight=\"12\" refX=\"16\" refY=\"5\" orient=\"auto\"><path d=\"M0,5 L8,0 L16,5 L8,10 z\" fill=\"white\" stroke=\"black\" /></marker>\n");
-        svg.append("<marker id=\"seta_composicao\" markerWidth=\"18\" markerHeight=\"12\" refX=\"16\" refY=\"5\" orient=\"auto\"><path d=\"M0,5 L8,0 L16,5 L8,10 z\" fill=\"black\" stroke=\"black\" /></marker>\n");
-        svg.append("</defs>\n");
-
-        svg.append("<style>\n");
-        svg.append(".texto { font-family: Arial, sans-serif; font-size: 12px; fill: #333; }\n");
-        svg.append(".titulo { font-family: Arial, sans-serif; font-size: 14px; font-weight: bold; fill: black; }\n");
-        // Estilo novo para o título principal
-        svg.append(".titulo-diagrama { font-family: Arial, sans-serif; font-size: 24px; font-weight: bold; fill: #2c3e50; }\n");
-        svg.append(".box { fill: #fff; stroke: #333; stroke-width: 1; filter: url(#sombra); }\n");
-        svg.append(".header-box { fill: #f0f0f0; stroke: #333; stroke-width: 1; }\n");
-        svg.append(".linha { stroke: #333; stroke-width: 1.5; }\n");
-        svg.append(".label-bg { fill: white; opacity: 0.9; }\n"); 
-        svg.append("</style>\n");
-        
+
+        svg.append(PREAMBULO);
+
         // --- DESENHAR TÍTULO DO DIAGRAMA ---
         if (titulo != null && !titulo.isEmpty()) {
-            svg.append(String.format("<text x=\"%d\" y=\"40\" class=\"titulo-diagrama\" text-anchor=\"middle\">%s</text>\n", centroX, titulo));
+            svg.append(String.format("<text x=\"%d\" y=\"40\" class=\"titulo-diagrama\" text-anchor=\"middle\">%s</text>\n", centroX, escaparXml(titulo)));
+        }
+
+        // 1. Classes  2. Relacionamentos (cada um é um fragmento independente, na ordem do diagrama)
+        emitir(svg, classes.size(), (saida, i) ->
+                desenharClasse(saida, classes.get(i), caixas[i], linhasAtributos[i], linhasMetodos[i], soCabecalho));
+        emitir(svg, relacionamentos.size(), (saida, r) -> desenharRelacionamento(saida, relacionamentos.get(r), grafo, caixas));
+        svg.append("</svg>");
+
+        // Salva as posições para a próxima execução
+        if (opcoes.arquivoLayout != null) {
+            EstadoLayout estadoNovo = new EstadoLayout();
+            for (int i = 0; i < classes.size(); i++) {
+                estadoNovo.registrar(classes.get(i).nome, caixas[i].x, caixas[i].y, assinaturas[i]);
+            }
+            try {
+                estadoNovo.salvar(opcoes.arquivoLayout);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao gravar o layout: " + e.getMessage(), e);
+            }
+        }
+        return svg.toString();
+    }
+
+    /**
+     * Emite os fragmentos 0..quantidade-1 em ordem. Em diagramas grandes os fragmentos são
+     * desenhados em paralelo, em pedaços com buffer próprio, e concatenados na ordem original:
+     * o SVG sai idêntico ao da emissão sequencial.
+     */
+    private void emitir(StringBuilder svg, int quantidade, ObjIntConsumer<StringBuilder> fragmento) {
+        if (!opcoes.renderizacaoParalela || quantidade < FRAGMENTOS_PARA_PARALELO
+                || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            for (int i = 0; i < quantidade; i++) {
+                if (i % 256 == 0) controle.verificarPrazo();
+                fragmento.accept(svg, i);
+            }
+            return;
+        }
+
+        StringBuilder[] pedacos = new StringBuilder[(quantidade + FRAGMENTOS_POR_TAREFA - 1) / FRAGMENTOS_POR_TAREFA];
+        ForkJoinPool.commonPool().invoke(new TarefaEmissao(fragmento, quantidade, pedacos, 0, pedacos.length));
+        int total = svg.length();
+        for (StringBuilder pedaco : pedacos) total += pedaco.length();
+        svg.ensureCapacity(total);
+        for (StringBuilder pedaco : pedacos) svg.append(pedaco);
+    }
+
+    private void desenharClasse(StringBuilder svg, ClasseUML classe, Caixa caixa, String[] linhasAtributos,
+                                String[] linhasMetodos, boolean soCabecalho) {
+        int x = caixa.x, y = caixa.y;
+        int larguraBox = caixa.largura;
+        int alturaHeader = ALTURA_CABECALHO;
+
+        svg.append(String.format("<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" class=\"box\" />\n", x, y, larguraBox, caixa.altura));
+        svg.append(String.format("<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" class=\"header-box\" />\n", x, y, larguraBox, alturaHeader));
+        svg.append(String.format("<text x=\"%d\" y=\"%d\" class=\"titulo\" text-anchor=\"middle\">%s</text>\n", x + larguraBox/2, y + 20, escaparXml(classe.nome)));
+        if (soCabecalho) return;
+        svg.append(String.format("<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" class=\"linha\" />\n", x, y + alturaHeader, x + larguraBox, y + alturaHeader));
+
+        int cursorY = y + alturaHeader + 15;
+        for (String linha : linhasAtributos) {
+            svg.append(String.format("<text x=\"%d\" y=\"%d\" class=\"texto\">%s</text>\n", x + 10, cursorY, escaparXml(linha)));
+            cursorY += 15;
+        }
+        if (linhasMetodos.length > 0) {
+            svg.append(String.format("<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" class=\"linha\" />\n", x, cursorY - 5, x + larguraBox, cursorY - 5));
+            cursorY += 10;
+        }
+        for (String linha : linhasMetodos) {
+            svg.append(String.format("<text x=\"%d\" y=\"%d\" class=\"texto\" style=\"font-style:italic\">%s</text>\n", x + 10, cursorY, escaparXml(linha)));
+            cursorY += 15;
+        }
+    }
+
+    private void desenharRelacionamento(StringBuilder svg, RelacionamentoUML rel, ComponentesConexos grafo, Caixa[] caixas) {
+        int indiceOrigem = grafo.indice(rel.classeOrigem);
+        int indiceDestino = grafo.indice(rel.classeDestino);
+        if (indiceOrigem < 0 || indiceDestino < 0) return;
+
+        Caixa origem = caixas[indiceOrigem];
+        Caixa destino = caixas[indiceDestino];
+        int cx1 = origem.x + origem.largura / 2;
+        int cy1 = origem.y + origem.altura / 2;
+        int cx2 = destino.x + destino.largura / 2;
+        int cy2 = destino.y + destino.altura / 2;
+        int dx = cx2 - cx1;
+        int dy = cy2 - cy1;
+        int startX, startY, endX, endY;
+
+        if (Math.abs(dx) > Math.abs(dy)) {
+            if (dx > 0) { startX = origem.x + origem.largura; startY = cy1; endX = destino.x; endY = cy2; }
+            else { startX = origem.x; startY = cy1; endX = destino.x + destino.largura; endY = cy2; }
+        } else {
+            if (dy > 0) { startX = cx1; startY = origem.y + origem.altura; endX = cx2; endY = destino.y; }
+            else { startX = cx1; startY = origem.y; endX = cx2; endY = destino.y + destino.altura; }
+        }
+
+        String markerEnd = obterMarcador(rel.tipoRelacionamento);
+        String dashArray = (rel.tipoRelacionamento == TipoToken.T_IMPLEMENTACAO || rel.tipoRelacionamento == TipoToken.T_LINK) ? "5,5" : "0";
+        svg.append(String.format("<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" class=\"linha\" stroke-dasharray=\"%s\" marker-end=\"url(#%s)\" />\n", startX, startY, endX, endY, dashArray, markerEnd));
+
+        if (rel.label != null && !rel.label.isEmpty()) {
+            int mx = (startX + endX) / 2;
+            int my = (startY + endY) / 2;
+            int textWidth = MedidorTexto.TEXTO.largura(rel.label) + 6;
+            svg.append(String.format("<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"14\" class=\"label-bg\" />\n", mx - textWidth/2, my - 10, textWidth));
+            svg.append(String.format("<text x=\"%d\" y=\"%d\" class=\"texto\" fill=\"blue\" text-anchor=\"middle\">%s</text>\n", mx, my, escaparXml(rel.label)));
         }
+    }
+
+    /**
+     * Layout incremental: classes já conhecidas voltam para a posição salva; classes novas
+     * nascem perto dos vizinhos já posicionados; novas e alteradas são afastadas de quem
+     * estiverem sobrepondo. Só elas se movem, então o custo acompanha o tamanho da mudança.
+     * Componentes inteiramente novos ganham layout próprio, empacotados abaixo do desenho atual.
+     */
+    private void posicionarIncremental(List<ClasseUML> classes, EstadoLayout estado, String[] assinaturas,
+                                       ComponentesConexos grafo, Caixa[] caixas, LayoutComponentes layout) {
+        List<Integer> novas = new ArrayList<>();
+        List<Integer> alteradas = new ArrayList<>();
+        boolean[] posicionada = new boolean[caixas.length];
+        boolean[] componenteConhecido = new boolean[grafo.quantidadeComponentes()];
+        int maxY = TOPO_CANVAS;
 
-        // 1. Classes
         for (int i = 0; i < classes.size(); i++) {
-            ClasseUML classe = classes.get(i);
-            int alturaHeader = 30;
-            int alturaTotal = alturaHeader + (classe.atributos.size() * 15) + 10 + (classe.metodos.size() * 15) + 10 + 5;
-            classe.width = larguraBox;
-            classe.height = alturaTotal;
-            int x, y;
-            if (i == 0) {
-                x = centroX - (larguraBox / 2);
-                y = centroY - (alturaTotal / 2);
+            EstadoLayout.Posicao p = estado.buscar(classes.get(i).nome);
+            if (p == null) {
+                novas.add(i);
+                continue;
+            }
+            Caixa c = caixas[i];
+            c.x = p.x;
+            c.y = p.y;
+            posicionada[i] = true;
+            componenteConhecido[grafo.componenteDe(i)] = true;
+            maxY = Math.max(maxY, c.y + c.altura);
+            if (!p.assinatura.equals(assinaturas[i])) alteradas.add(i);
+        }
+
+        GradeEspacial grade = new GradeEspacial();
+        for (int i = 0; i < caixas.length; i++) {
+            if (posicionada[i]) grade.inserir(caixas[i]);
+        }
+
+        for (int i : alteradas) {
+            controle.verificarPrazo();
+            encaixarSemSobreposicao(caixas[i], grade);
+        }
+
+        // componentes sem nenhuma classe conhecida: layout completo, abaixo do que já existe
+        List<Integer> componentesNovos = new ArrayList<>();
+        for (int c = 0; c < componenteConhecido.length; c++) {
+            if (!componenteConhecido[c]) componentesNovos.add(c);
+        }
+        int[] apenasNovos = componentesNovos.stream().mapToInt(Integer::intValue).toArray();
+        layout.posicionar(apenasNovos, MARGEM_CANVAS, maxY + ESPACO_ENTRE_CAIXAS * 2, LARGURA_CANVAS - 2 * MARGEM_CANVAS);
+        novas.removeIf(i -> !componenteConhecido[grafo.componenteDe(i)]);
+
+        // classes novas em componentes conhecidos nascem perto dos vizinhos já posicionados
+        for (int i : novas) {
+            controle.verificarPrazo();
+            Caixa c = caixas[i];
+            long somaX = 0, somaY = 0;
+            int quantidade = 0;
+            for (int k = 0; k < grafo.grau(i); k++) {
+                int v = grafo.vizinho(i, k);
+                if (!posicionada[v]) continue;
+                somaX += caixas[v].x + caixas[v].largura / 2;
+                somaY += caixas[v].y + caixas[v].altura / 2;
+                quantidade++;
+            }
+            if (quantidade > 0) {
+                c.x = (int) (somaX / quantidade) - c.largura / 2;
+                c.y = (int) (somaY / quantidade) - c.altura / 2;
             } else {
-                double angulo = 2 * Math.PI * (i - 1) / (classes.size() - 1);
-                x = (int) (centroX + raioX * Math.cos(angulo)) - (larguraBox / 2);
-                y = (int) (centroY + raioY * Math.sin(angulo)) - (alturaTotal / 2);
-            }
-            classe.x = x; classe.y = y;
-
-            svg.append(String.format("<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" class=\"box\" />\n", x, y, larguraBox, alturaTotal));
-            svg.append(String.format("<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" class=\"header-box\" />\n", x, y, larguraBox, alturaHeader));
-            svg.append(String.format("<text x=\"%d\" y=\"%d\" class=\"titulo\" text-anchor=\"middle\">%s</text>\n", x + larguraBox/2, y + 20, classe.nome));
-            svg.append(String.format("<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" class=\"linha\" />\n", x, y + alturaHeader, x + larguraBox, y + alturaHeader));
-
-            int cursorY = y + alturaHeader + 15;
-            for (AtributoUML atr : classe.atributos) {
-                String icon = atr.visibilidade.equals("-") ? "-" : "+";
-                svg.append(String.format("<text x=\"%d\" y=\"%d\" class=\"texto\">%s %s : %s</text>\n", x + 10, cursorY, icon, atr.nome, atr.tipo));
-                cursorY += 15;
-            }
-            if (!classe.metodos.isEmpty()) {
-                svg.append(String.format("<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" class=\"linha\" />\n", x, cursorY - 5, x + larguraBox, cursorY - 5));
-                cursorY += 10;
-            }
-            for (MetodoUML met : classe.metodos) {
-                String icon = met.visibilidade.equals("-") ? "-" : "+";
-                svg.append(String.format("<text x=\"%d\" y=\"%d\" class=\"texto\" style=\"font-style:italic\">%s %s() : %s</text>\n", x + 10, cursorY, icon, met.nome, met.tipoRetorno));
-                cursorY += 15;
-            }
-        }
-
-        // 2. Relacionamentos
-        for (RelacionamentoUML rel : relacionamentos) {
-            ClasseUML origem = buscarClasse(rel.classeOrigem);
-            ClasseUML destino = buscarClasse(rel.classeDestino);
-            if (origem != null && destino != null) {
-                int cx1 = origem.x + origem.width / 2;
-                int cy1 = origem.y + origem.height / 2;
-                int cx2 = destino.x + destino.width / 2;
-                int cy2 = destino.y + destino.height / 2;
-                int dx = cx2 - cx1;
-                int dy = cy2 - cy1;
-                int startX, startY, endX, endY;
-
-                if (Math.abs(dx) > Math.abs(dy)) {
-                    if (dx > 0) { startX = origem.x + origem.width; startY = cy1; endX = destino.x; endY = cy2; } 
-                    else { startX = origem.x; startY = cy1; endX = destino.x + destino.width; endY = cy2; }
-                } else { 
-                    if (dy > 0) { startX = cx1; startY = origem.y + origem.height; endX = cx2; endY = destino.y; } 
-                    else { startX = cx1; startY = origem.y; endX = cx2; endY = destino.y + destino.height; }
-                }
+                // vizinhos também são novos e ainda não foram posicionados: começa à direita de tudo
+                c.x = grade.maiorX + ESPACO_ENTRE_CAIXAS;
+                c.y = TOPO_CANVAS;
+            }
+            c.x = Math.max(MARGEM_CANVAS, c.x);
+            c.y = Math.max(TOPO_CANVAS, c.y);
+
+            grade.inserir(c);
+            encaixarSemSobreposicao(c, grade);
+            posicionada[i] = true;
+        }
+    }
 
-                String markerEnd = obterMarcador(rel.tipoRelacionamento);
-                String dashArray = (rel.tipoRelacionamento == TipoToken.T_IMPLEMENTACAO || rel.tipoRelacionamento == TipoToken.T_LINK) ? "5,5" : "0";
-                svg.append(String.format("<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" class=\"linha\" stroke-dasharray=\"%s\" marker-end=\"url(#%s)\" />\n", startX, startY, endX, endY, dashArray, markerEnd));
+    /**
+     * Procura, em anéis quadrados cada vez maiores em volta da posição desejada, o ponto livre
+     * mais próximo para a caixa. Se não achar nada por perto, coloca à direita de tudo.
+     */
+    private void encaixarSemSobreposicao(Caixa c, GradeEspacial grade) {
+        grade.remover(c);
+        int desejadoX = c.x, desejadoY = c.y;
 
-                if (rel.label != null && !rel.label.isEmpty()) {
-                    int mx = (startX + endX) / 2;
-                    int my = (startY + endY) / 2;
-                    int textWidth = rel.label.length() * 7;
-                    svg.append(String.format("<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"14\" class=\"label-bg\" />\n", mx - textWidth/2, my - 10, textWidth));
-                    svg.append(String.format("<text x=\"%d\" y=\"%d\" class=\"texto\" fill=\"blue\" text-anchor=\"middle\">%s</text>\n", mx, my, rel.label));
+        for (int raio = 0; raio <= RAIO_MAXIMO_BUSCA; raio += PASSO_BUSCA) {
+            long melhorDistancia = Long.MAX_VALUE;
+            int melhorX = 0, melhorY = 0;
+            for (int k = -raio; k <= raio; k += PASSO_BUSCA) {
+                int[][] candidatos = { {k, -raio}, {k, raio}, {-raio, k}, {raio, k} };
+                for (int[] d : candidatos) {
+                    c.x = desejadoX + d[0];
+                    c.y = desejadoY + d[1];
+                    if (c.x < MARGEM_CANVAS || c.y < TOPO_CANVAS) continue;
+                    long distancia = (long) d[0] * d[0] + (long) d[1] * d[1];
+                    if (distancia < melhorDistancia && grade.primeiraSobreposicao(c, ESPACO_ENTRE_CAIXAS) == null) {
+                        melhorDistancia = distancia;
+                        melhorX = c.x;
+                        melhorY = c.y;
+                    }
                 }
             }
+            if (melhorDistancia != Long.MAX_VALUE) {
+                c.x = melhorX;
+                c.y = melhorY;
+                grade.inserir(c);
+                return;
+            }
         }
-        svg.append("</svg>");
-        try (FileWriter writer = new FileWriter(caminhoArquivo)) { writer.write(svg.toString()); }
+
+        c.x = grade.maiorX + ESPACO_ENTRE_CAIXAS;
+        c.y = Math.max(TOPO_CANVAS, desejadoY);
+        grade.inserir(c);
+    }
+
+    /**
+     * Linhas dos atributos no nível pedido (PUBLICOS esconde os não públicos, CABECALHOS esconde tudo).
+     */
+    private static String[] linhasAtributos(ClasseUML classe, NivelDetalhe nivel) {
+        if (nivel == NivelDetalhe.CABECALHOS) return new String[0];
+        List<String> linhas = new ArrayList<>(classe.atributos.size());
+        for (AtributoUML atr : classe.atributos) {
+            if (nivel == NivelDetalhe.PUBLICOS && !isPublico(atr.visibilidade)) continue;
+            String icon = atr.visibilidade.equals("-") ? "-" : "+";
+            linhas.add(icon + " " + atr.nome + " : " + atr.tipo);
+        }
+        return linhas.toArray(new String[0]);
+    }
+
+    private static String[] linhasMetodos(ClasseUML classe, NivelDetalhe nivel) {
+        if (nivel == NivelDetalhe.CABECALHOS) return new String[0];
+        List<String> linhas = new ArrayList<>(classe.metodos.size());
+        for (MetodoUML met : classe.metodos) {
+            if (nivel == NivelDetalhe.PUBLICOS && !isPublico(met.visibilidade)) continue;
+            String icon = met.visibilidade.equals("-") ? "-" : "+";
+            linhas.add(icon + " " + met.nome + "() : " + met.tipoRetorno);
+        }
+        return linhas.toArray(new String[0]);
+    }
+
+    // sem marcador o parser usa "public"
+    private static boolean isPublico(String visibilidade) {
+        return visibilidade.equals("+") || visibilidade.equals("public");
+    }
+
+    /**
+     * Resumo do conteúdo desenhado da classe; se mudar, a caixa mudou de tamanho ou de texto.
+     */
+    private String assinatura(ClasseUML classe, Caixa caixa, String[] linhasAtributos, String[] linhasMetodos) {
+        int hash = classe.nome.hashCode();
+        for (String linha : linhasAtributos) hash = 31 * hash + linha.hashCode();
+        for (String linha : linhasMetodos) hash = 31 * hash + linha.hashCode();
+        return caixa.largura + "x" + caixa.altura + ":" + Integer.toHexString(hash);
+    }
+
+    /**
+     * Largura da caixa ajustada ao texto mais largo (nome da classe ou membros), com margens.
+     */
+    private int larguraConteudo(String nome, String[] linhasAtributos, String[] linhasMetodos) {
+        int maior = MedidorTexto.TITULO.largura(nome) + 2 * MARGEM_TITULO;
+        for (String linha : linhasAtributos) {
+            maior = Math.max(maior, MedidorTexto.TEXTO.largura(linha) + 2 * MARGEM_TEXTO);
+        }
+        for (String linha : linhasMetodos) {
+            maior = Math.max(maior, MedidorTexto.METODO.largura(linha) + 2 * MARGEM_TEXTO);
+        }
+        return Math.max(LARGURA_MINIMA_BOX, maior);
     }
 
-    private ClasseUML buscarClasse(String nome) {
-        for (ClasseUML c : classes) if (c.nome.equals(nome)) return c;
-        return null;
+    /**
+     * Títulos e rótulos vêm recortados do código-fonte e podem ter qualquer caractere.
+     */
+    private static String escaparXml(String texto) {
+        StringBuilder sb = null;
+        for (int i = 0; i < texto.length(); i++) {
+            String troca;
+            switch (texto.charAt(i)) {
+                case '&': troca = "&amp;"; break;
+                case '<': troca = "&lt;"; break;
+                case '>': troca = "&gt;"; break;
+                case '"': troca = "&quot;"; break;
+                default: troca = null;
+            }
+            if (troca == null) {
+                if (sb != null) sb.append(texto.charAt(i));
+                continue;
+            }
+            if (sb == null) sb = new StringBuilder(texto.length() + 16).append(texto, 0, i);
+            sb.append(troca);
+        }
+        return sb == null ? texto : sb.toString();
     }
-    
+
     private String obterMarcador(TipoToken tipo) {
         switch (tipo) {
             case T_HERANCA: return "seta_heranca";
@@ -163,4 +469,92 @@ public class GeradorSVG {
             default: return "none";
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Divide os pedaços ao meio até sobrar um por tarefa. Cada pedaço escreve só no próprio
+     * buffer e só lê caixas e modelo, então as tarefas não disputam nada.
+     */
+    private class TarefaEmissao extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ObjIntConsumer<StringBuilder> fragmento;
+        private final int quantidade;
+        private final StringBuilder[] pedacos;
+        private final int inicio, fim;
+
+        TarefaEmissao(ObjIntConsumer<StringBuilder> fragmento, int quantidade, StringBuilder[] pedacos, int inicio, int fim) {
+            this.fragmento = fragmento;
+            this.quantidade = quantidade;
+            this.pedacos = pedacos;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected void compute() {
+            if (fim - inicio > 1) {
+                int meio = (inicio + fim) >>> 1;
+                invokeAll(new TarefaEmissao(fragmento, quantidade, pedacos, inicio, meio),
+                        new TarefaEmissao(fragmento, quantidade, pedacos, meio, fim));
+                return;
+            }
+            controle.verificarPrazo(); // a exceção sobe pelo invoke() até quem chamou gerar
+            StringBuilder pedaco = new StringBuilder();
+            int ultimo = Math.min(quantidade, (inicio + 1) * FRAGMENTOS_POR_TAREFA);
+            for (int i = inicio * FRAGMENTOS_POR_TAREFA; i < ultimo; i++) fragmento.accept(pedaco, i);
+            pedacos[inicio] = pedaco;
+        }
+    }
+
+    /**
+     * Grade de células fixas para achar caixas próximas sem percorrer o diagrama inteiro.
+     */
+    private static class GradeEspacial {
+        private static final int TAMANHO_CELULA = 256;
+        private final Map<Long, List<Caixa>> celulas = new HashMap<>();
+        int maiorX = 0; // borda direita mais distante já inserida
+
+        void inserir(Caixa c) {
+            maiorX = Math.max(maiorX, c.x + c.largura);
+            for (long chave : chaves(c, 0)) {
+                celulas.computeIfAbsent(chave, k -> new ArrayList<>()).add(c);
+            }
+        }
+
+        void remover(Caixa c) {
+            for (long chave : chaves(c, 0)) {
+                List<Caixa> lista = celulas.get(chave);
+                if (lista != null) lista.remove(c);
+            }
+        }
+
+        Caixa primeiraSobreposicao(Caixa c, int espaco) {
+            for (long chave : chaves(c, espaco)) {
+                List<Caixa> lista = celulas.get(chave);
+                if (lista == null) continue;
+                for (Caixa outra : lista) {
+                    if (outra != c
+                            && c.x < outra.x + outra.largura + espaco && outra.x < c.x + c.largura + espaco
+                            && c.y < outra.y + outra.altura + espaco && outra.y < c.y + c.altura + espaco) {
+                        return outra;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private List<Long> chaves(Caixa c, int espaco) {
+            int x0 = Math.floorDiv(c.x - espaco, TAMANHO_CELULA);
+            int x1 = Math.floorDiv(c.x + c.largura + espaco, TAMANHO_CELULA);
+            int y0 = Math.floorDiv(c.y - espaco, TAMANHO_CELULA);
+            int y1 = Math.floorDiv(c.y + c.altura + espaco, TAMANHO_CELULA);
+            List<Long> chaves = new ArrayList<>();
+            for (int cx = x0; cx <= x1; cx++) {
+                for (int cy = y0; cy <= y1; cy++) {
+                    chaves.add(((long) cx << 32) | (cy & 0xffffffffL));
+                }
+            }
+            return chaves;
+        }
+    }
+}
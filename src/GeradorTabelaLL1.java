@@ -0,0 +1,335 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gera src/TabelaLL1.java a partir de Gramatica.txt: lê as produções, calcula FIRST e FOLLOW,
+ * monta a tabela LL(1) e recusa a gramática se houver conflito. O AnalisadorSintatico só
+ * interpreta essa tabela, então gramática e parser não têm como divergir.
+ *
+ * Uso: java GeradorTabelaLL1 [Gramatica.txt] [src/TabelaLL1.java] [--verificar]
+ * Com --verificar nada é gravado: sai com código 1 se o arquivo gerado estiver desatualizado.
+ */
+public class GeradorTabelaLL1 {
+
+    private static final int TERMINAIS = TipoToken.values().length;
+
+    /**
+     * Uma alternativa de um não-terminal. Símbolos codificados como em TabelaLL1.
+     */
+    private static class Producao {
+        final int esquerda; // índice do não-terminal
+        final int[] direita;
+        final String texto;
+
+        Producao(int esquerda, int[] direita, String texto) {
+            this.esquerda = esquerda;
+            this.direita = direita;
+            this.texto = texto;
+        }
+    }
+
+    private final Map<String, Integer> naoTerminais = new LinkedHashMap<>();
+    private final Map<String, Integer> acoes = new LinkedHashMap<>();
+    private final List<Producao> producoes = new ArrayList<>();
+    private final List<String> erros = new ArrayList<>();
+
+    private BitSet[] first;
+    private boolean[] anulavel;
+    private BitSet[] follow;
+    private short[][] tabela;
+
+    public static void main(String[] args) throws IOException {
+        List<String> posicionais = new ArrayList<>();
+        boolean verificar = false;
+        for (String a : args) {
+            if (a.equals("--verificar")) verificar = true;
+            else posicionais.add(a);
+        }
+        Path gramatica = Paths.get(posicionais.size() > 0 ? posicionais.get(0) : "Gramatica.txt");
+        Path destino = Paths.get(posicionais.size() > 1 ? posicionais.get(1) : "src/TabelaLL1.java");
+
+        GeradorTabelaLL1 gerador = new GeradorTabelaLL1();
+        String codigo = gerador.gerar(Files.readAllLines(gramatica, StandardCharsets.UTF_8));
+        if (codigo == null) {
+            for (String erro : gerador.erros) System.err.println(erro);
+            System.exit(1);
+        }
+
+        String atual = Files.exists(destino) ? Files.readString(destino, StandardCharsets.UTF_8) : "";
+        if (verificar) {
+            if (!atual.equals(codigo)) {
+                System.err.println(destino + " está desatualizado em relação a " + gramatica + ".");
+                System.exit(1);
+            }
+            System.out.println(destino + " confere com " + gramatica + ".");
+            return;
+        }
+        if (!atual.equals(codigo)) Files.writeString(destino, codigo, StandardCharsets.UTF_8);
+        System.out.println(String.format("%s: %d não-terminais, %d produções, %d ações.",
+                destino, gerador.naoTerminais.size(), gerador.producoes.size(), gerador.acoes.size()));
+    }
+
+    /**
+     * Devolve o código de TabelaLL1.java, ou null se a gramática tiver erros (ficam em erros).
+     */
+    public String gerar(List<String> linhas) {
+        List<String[]> regras = lerRegras(linhas);
+        if (!erros.isEmpty()) return null;
+
+        // primeiro todos os lados esquerdos, para um não-terminal poder ser usado antes de definido
+        for (String[] regra : regras) {
+            if (!naoTerminais.containsKey(regra[0])) naoTerminais.put(regra[0], naoTerminais.size());
+        }
+        for (String[] regra : regras) {
+            for (String alternativa : regra[1].split("\\|")) {
+                lerAlternativa(naoTerminais.get(regra[0]), alternativa.trim());
+            }
+        }
+        if (!erros.isEmpty()) return null;
+
+        calcularFirst();
+        calcularFollow();
+        montarTabela();
+        if (!erros.isEmpty()) return null;
+        return escrever();
+    }
+
+    // --- Leitura da gramática ---
+
+    /**
+     * Junta as linhas de continuação ("| ...") e devolve pares {nome do não-terminal, lado direito}.
+     */
+    private List<String[]> lerRegras(List<String> linhas) {
+        List<String[]> regras = new ArrayList<>();
+        for (int i = 0; i < linhas.size(); i++) {
+            String linha = linhas.get(i).trim();
+            if (linha.isEmpty() || linha.startsWith("//")) continue;
+
+            if (linha.startsWith("|")) {
+                if (regras.isEmpty()) {
+                    erros.add("Linha " + (i + 1) + ": alternativa sem regra antes.");
+                    continue;
+                }
+                String[] ultima = regras.get(regras.size() - 1);
+                ultima[1] = ultima[1] + " " + linha;
+                continue;
+            }
+
+            int separador = linha.indexOf("::=");
+            String esquerda = separador < 0 ? "" : linha.substring(0, separador).trim();
+            if (!esquerda.startsWith("<") || !esquerda.endsWith(">")) {
+                erros.add("Linha " + (i + 1) + ": esperado '<NaoTerminal> ::= ...'.");
+                continue;
+            }
+            regras.add(new String[] { esquerda.substring(1, esquerda.length() - 1), linha.substring(separador + 3).trim() });
+        }
+        return regras;
+    }
+
+    private void lerAlternativa(int esquerda, String alternativa) {
+        List<Integer> simbolos = new ArrayList<>();
+        for (String s : alternativa.split("\\s+")) {
+            if (s.isEmpty() || s.equals("ε")) continue;
+            if (s.startsWith("<") && s.endsWith(">")) {
+                Integer nt = naoTerminais.get(s.substring(1, s.length() - 1));
+                if (nt == null) erros.add("Não-terminal sem regra: " + s);
+                else simbolos.add(TERMINAIS + nt);
+            } else if (s.startsWith("{") && s.endsWith("}")) {
+                String acao = s.substring(1, s.length() - 1);
+                if (!acoes.containsKey(acao)) acoes.put(acao, acoes.size());
+                simbolos.add(-1 - acoes.get(acao));
+            } else {
+                try {
+                    simbolos.add(TipoToken.valueOf(s).ordinal());
+                } catch (IllegalArgumentException e) {
+                    erros.add("Símbolo desconhecido '" + s + "' em <" + nome(esquerda) + ">.");
+                }
+            }
+        }
+        String texto = "<" + nome(esquerda) + "> ::= " + (alternativa.isEmpty() ? "ε" : alternativa);
+        producoes.add(new Producao(esquerda, simbolos.stream().mapToInt(Integer::intValue).toArray(), texto));
+    }
+
+    // --- FIRST, FOLLOW e tabela ---
+
+    private void calcularFirst() {
+        int n = naoTerminais.size();
+        first = new BitSet[n];
+        anulavel = new boolean[n];
+        for (int i = 0; i < n; i++) first[i] = new BitSet(TERMINAIS);
+
+        boolean mudou = true;
+        while (mudou) {
+            mudou = false;
+            for (Producao p : producoes) {
+                BitSet conjunto = new BitSet(TERMINAIS);
+                boolean vazio = firstDaSequencia(p.direita, 0, conjunto);
+                int antes = first[p.esquerda].cardinality();
+                first[p.esquerda].or(conjunto);
+                if (first[p.esquerda].cardinality() != antes) mudou = true;
+                if (vazio && !anulavel[p.esquerda]) {
+                    anulavel[p.esquerda] = true;
+                    mudou = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Acrescenta a conjunto o FIRST de simbolos[inicio..]; devolve true se a sequência pode ser vazia.
+     * Ações não consomem tokens, então são transparentes aqui.
+     */
+    private boolean firstDaSequencia(int[] simbolos, int inicio, BitSet conjunto) {
+        for (int i = inicio; i < simbolos.length; i++) {
+            int s = simbolos[i];
+            if (s < 0) continue;
+            if (s < TERMINAIS) {
+                conjunto.set(s);
+                return false;
+            }
+            conjunto.or(first[s - TERMINAIS]);
+            if (!anulavel[s - TERMINAIS]) return false;
+        }
+        return true;
+    }
+
+    private void calcularFollow() {
+        int n = naoTerminais.size();
+        follow = new BitSet[n];
+        for (int i = 0; i < n; i++) follow[i] = new BitSet(TERMINAIS);
+        follow[0].set(TipoToken.T_EOF.ordinal()); // o primeiro não-terminal é o símbolo inicial
+
+        boolean mudou = true;
+        while (mudou) {
+            mudou = false;
+            for (Producao p : producoes) {
+                for (int i = 0; i < p.direita.length; i++) {
+                    int s = p.direita[i];
+                    if (s < TERMINAIS) continue;
+                    BitSet alvo = follow[s - TERMINAIS];
+                    int antes = alvo.cardinality();
+                    BitSet resto = new BitSet(TERMINAIS);
+                    if (firstDaSequencia(p.direita, i + 1, resto)) resto.or(follow[p.esquerda]);
+                    alvo.or(resto);
+                    if (alvo.cardinality() != antes) mudou = true;
+                }
+            }
+        }
+    }
+
+    private void montarTabela() {
+        tabela = new short[naoTerminais.size()][TERMINAIS];
+        for (short[] linha : tabela) Arrays.fill(linha, (short) -1);
+
+        for (int indice = 0; indice < producoes.size(); indice++) {
+            Producao p = producoes.get(indice);
+            BitSet previsao = new BitSet(TERMINAIS);
+            if (firstDaSequencia(p.direita, 0, previsao)) previsao.or(follow[p.esquerda]);
+
+            for (int t = previsao.nextSetBit(0); t >= 0; t = previsao.nextSetBit(t + 1)) {
+                short existente = tabela[p.esquerda][t];
+                if (existente >= 0 && existente != indice) {
+                    erros.add("Conflito LL(1) em <" + nome(p.esquerda) + "> com " + TipoToken.values()[t] + ":\n  "
+                            + producoes.get(existente).texto + "\n  " + p.texto);
+                } else {
+                    tabela[p.esquerda][t] = (short) indice;
+                }
+            }
+        }
+    }
+
+    // --- Código gerado ---
+
+    private String escrever() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("// Gerado por GeradorTabelaLL1 a partir de Gramatica.txt. Não edite à mão: mude a gramática e rode\n");
+        sb.append("//   java -cp bin GeradorTabelaLL1 Gramatica.txt src/TabelaLL1.java\n\n");
+        sb.append("/**\n");
+        sb.append(" * Tabela LL(1) do AnalisadorSintatico.\n");
+        sb.append(" *\n");
+        sb.append(" * Símbolos são ints: terminal = ordinal do TipoToken, não-terminal = TERMINAIS + índice,\n");
+        sb.append(" * ação semântica = -1 - índice. TABELA[não-terminal][terminal] é a produção a expandir\n");
+        sb.append(" * (-1 = erro) e PRODUCOES[p] é o lado direito dela, na ordem da gramática.\n");
+        sb.append(" */\n");
+        sb.append("public final class TabelaLL1 {\n\n");
+        sb.append("    public static final int TERMINAIS = ").append(TERMINAIS).append(";\n\n");
+
+        sb.append("    // Não-terminais\n");
+        for (Map.Entry<String, Integer> e : naoTerminais.entrySet()) {
+            sb.append("    public static final int NT_").append(constante(e.getKey())).append(" = ")
+              .append(TERMINAIS + e.getValue()).append(";\n");
+        }
+        sb.append("\n    // Ações semânticas\n");
+        for (Map.Entry<String, Integer> e : acoes.entrySet()) {
+            sb.append("    public static final int ACAO_").append(constante(e.getKey())).append(" = ")
+              .append(-1 - e.getValue()).append(";\n");
+        }
+
+        sb.append("\n    public static final int SIMBOLO_INICIAL = NT_").append(constante(nome(0))).append(";\n\n");
+
+        sb.append("    public static final String[] NOMES_NAO_TERMINAIS = {\n");
+        for (String nome : naoTerminais.keySet()) sb.append("        \"").append(nome).append("\",\n");
+        sb.append("    };\n\n");
+
+        sb.append("    public static final int[][] PRODUCOES = {\n");
+        for (int i = 0; i < producoes.size(); i++) {
+            Producao p = producoes.get(i);
+            StringBuilder simbolos = new StringBuilder("{");
+            for (int j = 0; j < p.direita.length; j++) {
+                simbolos.append(j == 0 ? " " : ", ").append(p.direita[j]);
+            }
+            simbolos.append(p.direita.length == 0 ? "}," : " },");
+            sb.append(String.format("        %-40s // %d: %s\n", simbolos, i, p.texto));
+        }
+        sb.append("    };\n\n");
+
+        sb.append("    public static final short[][] TABELA = {\n");
+        sb.append("        // colunas: ");
+        for (TipoToken t : TipoToken.values()) sb.append(t.ordinal() == 0 ? "" : ", ").append(t.name());
+        sb.append("\n");
+        for (int nt = 0; nt < tabela.length; nt++) {
+            sb.append("        {");
+            for (int t = 0; t < TERMINAIS; t++) sb.append(t == 0 ? " " : ", ").append(tabela[nt][t]);
+            sb.append(" }, // <").append(nome(nt)).append(">\n");
+        }
+        sb.append("    };\n\n");
+
+        sb.append("    // TipoToken na época da geração: se o enum mudar, os ordinais acima deixam de valer\n");
+        sb.append("    private static final String TOKENS =\n");
+        sb.append("            \"");
+        for (TipoToken t : TipoToken.values()) sb.append(t.ordinal() == 0 ? "" : " ").append(t.name());
+        sb.append("\";\n\n");
+        sb.append("    static {\n");
+        sb.append("        StringBuilder atuais = new StringBuilder();\n");
+        sb.append("        for (TipoToken t : TipoToken.values()) atuais.append(t.ordinal() == 0 ? \"\" : \" \").append(t.name());\n");
+        sb.append("        if (!atuais.toString().equals(TOKENS)) {\n");
+        sb.append("            throw new IllegalStateException(\"TabelaLL1 desatualizada (TipoToken mudou): rode GeradorTabelaLL1.\");\n");
+        sb.append("        }\n");
+        sb.append("    }\n\n");
+        sb.append("    private TabelaLL1() {\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private String nome(int naoTerminal) {
+        for (Map.Entry<String, Integer> e : naoTerminais.entrySet()) {
+            if (e.getValue() == naoTerminal) return e.getKey();
+        }
+        return "?";
+    }
+
+    // ListaDeclaracoes -> LISTA_DECLARACOES
+    private static String constante(String nome) {
+        return nome.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+    }
+}
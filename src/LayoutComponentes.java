@@ -0,0 +1,230 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Layout por componente conexo: cada componente é desenhado sozinho (em paralelo, no pool
+ * fork-join) com o layout radial, e depois os componentes são empacotados em prateleiras no canvas.
+ *
+ * Recebe as caixas (uma por classe, na mesma ordem do grafo) já com largura e altura; preenche x e y.
+ */
+public class LayoutComponentes {
+
+    private static final int ESPACO = 40;           // entre caixas de um mesmo componente
+    private static final int ESPACO_COMPONENTES = 60;
+    private static final int CLASSES_POR_TAREFA = 2000; // abaixo disso não vale a pena dividir a tarefa
+
+    private final ComponentesConexos grafo;
+    private final Caixa[] caixas;
+    private final ControleRecursos controle;
+    private final int[] larguraComponente;
+    private final int[] alturaComponente;
+    private final int[] marca; // marca[i] == componente + 1 quando a classe i já entrou em um anel
+
+    public LayoutComponentes(ComponentesConexos grafo, Caixa[] caixas, ControleRecursos controle) {
+        this.grafo = grafo;
+        this.caixas = caixas;
+        this.controle = controle;
+        this.larguraComponente = new int[grafo.quantidadeComponentes()];
+        this.alturaComponente = new int[grafo.quantidadeComponentes()];
+        this.marca = new int[grafo.quantidadeClasses()];
+    }
+
+    /**
+     * Posiciona os componentes indicados a partir de (origemX, origemY).
+     * @param larguraMinima largura útil do canvas; o desenho é centralizado dentro dela
+     */
+    public void posicionar(int[] componentes, int origemX, int origemY, int larguraMinima) {
+        if (componentes.length == 0) return;
+
+        // 1. cada componente em coordenadas locais, em paralelo
+        ForkJoinPool.commonPool().invoke(new TarefaLayout(componentes, 0, componentes.length));
+
+        // 2. empacotamento em prateleiras: mais altos primeiro, linhas com largura ~ raiz da área total
+        long areaTotal = 0;
+        Integer[] ordem = new Integer[componentes.length];
+        for (int i = 0; i < componentes.length; i++) {
+            ordem[i] = componentes[i];
+            areaTotal += (long) (larguraComponente[componentes[i]] + ESPACO_COMPONENTES)
+                    * (alturaComponente[componentes[i]] + ESPACO_COMPONENTES);
+        }
+        Arrays.sort(ordem, (a, b) -> alturaComponente[b] - alturaComponente[a]);
+
+        int maisLargo = 0;
+        for (int c : componentes) maisLargo = Math.max(maisLargo, larguraComponente[c]);
+        int larguraPrateleira = Math.max(Math.max(larguraMinima, maisLargo), (int) Math.sqrt(areaTotal));
+
+        int[] deslocX = new int[grafo.quantidadeComponentes()];
+        int[] deslocY = new int[grafo.quantidadeComponentes()];
+        int cursorX = 0, cursorY = 0, alturaLinha = 0, larguraUsada = 0;
+        for (int c : ordem) {
+            if (cursorX > 0 && cursorX + larguraComponente[c] > larguraPrateleira) {
+                cursorX = 0;
+                cursorY += alturaLinha + ESPACO_COMPONENTES;
+                alturaLinha = 0;
+            }
+            deslocX[c] = cursorX;
+            deslocY[c] = cursorY;
+            cursorX += larguraComponente[c] + ESPACO_COMPONENTES;
+            alturaLinha = Math.max(alturaLinha, alturaComponente[c]);
+            larguraUsada = Math.max(larguraUsada, cursorX - ESPACO_COMPONENTES);
+        }
+
+        // 3. translada para o canvas (centralizando quando sobra espaço)
+        int inicioX = origemX + Math.max(0, (larguraMinima - larguraUsada) / 2);
+        for (int c : componentes) {
+            for (int i : grafo.membros(c)) {
+                Caixa caixa = caixas[i];
+                caixa.x += inicioX + deslocX[c];
+                caixa.y += origemY + deslocY[c];
+            }
+        }
+    }
+
+    /**
+     * Layout Radial de um componente: a classe mais conectada no centro e as demais em anéis
+     * concêntricos pela distância até ela. Cada anel segue a ordem dos "pais" no anel anterior,
+     * o que reduz cruzamentos. Ao final o componente é transladado para começar em (0, 0).
+     */
+    private void posicionarComponente(int componente) {
+        int[] membros = grafo.membros(componente);
+        if (membros.length == 1) {
+            Caixa unica = caixas[membros[0]];
+            unica.x = 0;
+            unica.y = 0;
+            larguraComponente[componente] = unica.largura;
+            alturaComponente[componente] = unica.altura;
+            return;
+        }
+
+        int centro = membros[0];
+        for (int i : membros) {
+            if (grafo.grau(i) > grafo.grau(centro)) centro = i;
+        }
+
+        // anéis pela busca em largura a partir do centro
+        List<List<Integer>> aneis = new ArrayList<>();
+        List<Integer> anelAtual = new ArrayList<>();
+        anelAtual.add(centro);
+        marca[centro] = componente + 1;
+        while (!anelAtual.isEmpty()) {
+            aneis.add(anelAtual);
+            List<Integer> proximo = new ArrayList<>();
+            for (int i : anelAtual) {
+                for (int k = 0; k < grafo.grau(i); k++) {
+                    int v = grafo.vizinho(i, k);
+                    if (marca[v] != componente + 1) {
+                        marca[v] = componente + 1;
+                        proximo.add(v);
+                    }
+                }
+            }
+            anelAtual = proximo;
+        }
+
+        // Cada caixa ocupa no anel uma fatia proporcional à sua diagonal. O raio é o menor que
+        // afasta o anel anterior e deixa vizinhos no anel com os círculos circunscritos separados
+        // (caixas cujos círculos não se tocam não se sobrepõem).
+        double raioAnterior = 0;
+        double meiaDiagonalAnterior = meiaDiagonal(caixas[centro]);
+        Caixa caixaCentro = caixas[centro];
+        caixaCentro.x = -caixaCentro.largura / 2;
+        caixaCentro.y = -caixaCentro.altura / 2;
+        for (int a = 1; a < aneis.size(); a++) {
+            List<Integer> anel = aneis.get(a);
+            int m = anel.size();
+            double[] meias = new double[m];
+            double soma = 0;
+            double meiaDiagonalAnel = 0;
+            for (int j = 0; j < m; j++) {
+                meias[j] = meiaDiagonal(caixas[anel.get(j)]);
+                soma += 2 * meias[j] + ESPACO;
+                meiaDiagonalAnel = Math.max(meiaDiagonalAnel, meias[j]);
+            }
+
+            double raio = raioAnterior + meiaDiagonalAnterior + meiaDiagonalAnel + ESPACO;
+            double[] angulos = new double[m];
+            double acumulado = 0;
+            for (int j = 0; j < m; j++) {
+                double fatia = (2 * meias[j] + ESPACO) / soma;
+                angulos[j] = 2 * Math.PI * (acumulado + fatia / 2);
+                acumulado += fatia;
+            }
+            for (int j = 0; m > 1 && j < m; j++) {
+                int k = (j + 1) % m;
+                double abertura = angulos[k] - angulos[j];
+                if (abertura <= 0) abertura += 2 * Math.PI;
+                double cordaNecessaria = meias[j] + meias[k] + ESPACO;
+                raio = Math.max(raio, cordaNecessaria / (2 * Math.sin(Math.min(abertura, Math.PI) / 2)));
+            }
+
+            for (int j = 0; j < m; j++) {
+                Caixa c = caixas[anel.get(j)];
+                c.x = (int) Math.round(raio * Math.cos(angulos[j])) - c.largura / 2;
+                c.y = (int) Math.round(raio * Math.sin(angulos[j])) - c.altura / 2;
+            }
+            raioAnterior = raio;
+            meiaDiagonalAnterior = meiaDiagonalAnel;
+        }
+
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i : membros) {
+            Caixa c = caixas[i];
+            minX = Math.min(minX, c.x);
+            minY = Math.min(minY, c.y);
+            maxX = Math.max(maxX, c.x + c.largura);
+            maxY = Math.max(maxY, c.y + c.altura);
+        }
+        for (int i : membros) {
+            Caixa c = caixas[i];
+            c.x -= minX;
+            c.y -= minY;
+        }
+        larguraComponente[componente] = maxX - minX;
+        alturaComponente[componente] = maxY - minY;
+    }
+
+    private static double meiaDiagonal(Caixa c) {
+        return Math.hypot(c.largura, c.altura) / 2;
+    }
+
+    /**
+     * Divide a lista de componentes ao meio até cada pedaço ter poucas classes.
+     * Componentes diferentes não compartilham classes, então as tarefas não disputam nada.
+     */
+    private class TarefaLayout extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] componentes;
+        private final int inicio, fim;
+
+        TarefaLayout(int[] componentes, int inicio, int fim) {
+            this.componentes = componentes;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected void compute() {
+            if (fim - inicio > 1 && totalClasses() > CLASSES_POR_TAREFA) {
+                int meio = (inicio + fim) >>> 1;
+                invokeAll(new TarefaLayout(componentes, inicio, meio), new TarefaLayout(componentes, meio, fim));
+                return;
+            }
+            for (int i = inicio; i < fim; i++) {
+                controle.verificarPrazo(); // a exceção sobe pelo invoke() até quem chamou posicionar
+                posicionarComponente(componentes[i]);
+            }
+        }
+
+        private int totalClasses() {
+            int total = 0;
+            for (int i = inicio; i < fim && total <= CLASSES_POR_TAREFA; i++) {
+                total += grafo.membros(componentes[i]).length;
+            }
+            return total;
+        }
+    }
+}
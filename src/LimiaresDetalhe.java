@@ -0,0 +1,63 @@
+/**
+ * Tamanhos a partir dos quais o nível de detalhe AUTOMATICO abre mão de detalhe.
+ * Imutável; cada "com..." devolve uma cópia.
+ */
+public final class LimiaresDetalhe {
+
+    public static final LimiaresDetalhe PADRAO = new LimiaresDetalhe(500, 5_000, 1_000, 20_000, 5_000, 400);
+
+    public final int maxClassesCompleto;
+    public final int maxMembrosCompleto;   // soma de atributos e métodos de todas as classes
+    public final int maxClassesPublicos;
+    public final int maxMembrosPublicos;
+    public final int maxClassesCabecalhos; // acima disso, AGRUPADO
+    public final int maxGrupos;            // nós desenhados no modo AGRUPADO
+
+    private LimiaresDetalhe(int maxClassesCompleto, int maxMembrosCompleto, int maxClassesPublicos,
+                            int maxMembrosPublicos, int maxClassesCabecalhos, int maxGrupos) {
+        this.maxClassesCompleto = maxClassesCompleto;
+        this.maxMembrosCompleto = maxMembrosCompleto;
+        this.maxClassesPublicos = maxClassesPublicos;
+        this.maxMembrosPublicos = maxMembrosPublicos;
+        this.maxClassesCabecalhos = maxClassesCabecalhos;
+        this.maxGrupos = maxGrupos;
+    }
+
+    /**
+     * O nível mais detalhado cujos limiares o diagrama respeita.
+     */
+    public NivelDetalhe escolher(DiagramaUML diagrama) {
+        int classes = diagrama.classes.size();
+        long membros = 0;
+        for (ClasseUML c : diagrama.classes) membros += c.atributos.size() + c.metodos.size();
+
+        if (classes <= maxClassesCompleto && membros <= maxMembrosCompleto) return NivelDetalhe.COMPLETO;
+        if (classes <= maxClassesPublicos && membros <= maxMembrosPublicos) return NivelDetalhe.PUBLICOS;
+        if (classes <= maxClassesCabecalhos) return NivelDetalhe.CABECALHOS;
+        return NivelDetalhe.AGRUPADO;
+    }
+
+    public LimiaresDetalhe comMaxClassesCompleto(int valor) {
+        return new LimiaresDetalhe(valor, maxMembrosCompleto, maxClassesPublicos, maxMembrosPublicos, maxClassesCabecalhos, maxGrupos);
+    }
+
+    public LimiaresDetalhe comMaxMembrosCompleto(int valor) {
+        return new LimiaresDetalhe(maxClassesCompleto, valor, maxClassesPublicos, maxMembrosPublicos, maxClassesCabecalhos, maxGrupos);
+    }
+
+    public LimiaresDetalhe comMaxClassesPublicos(int valor) {
+        return new LimiaresDetalhe(maxClassesCompleto, maxMembrosCompleto, valor, maxMembrosPublicos, maxClassesCabecalhos, maxGrupos);
+    }
+
+    public LimiaresDetalhe comMaxMembrosPublicos(int valor) {
+        return new LimiaresDetalhe(maxClassesCompleto, maxMembrosCompleto, maxClassesPublicos, valor, maxClassesCabecalhos, maxGrupos);
+    }
+
+    public LimiaresDetalhe comMaxClassesCabecalhos(int valor) {
+        return new LimiaresDetalhe(maxClassesCompleto, maxMembrosCompleto, maxClassesPublicos, maxMembrosPublicos, valor, maxGrupos);
+    }
+
+    public LimiaresDetalhe comMaxGrupos(int valor) {
+        return new LimiaresDetalhe(maxClassesCompleto, maxMembrosCompleto, maxClassesPublicos, maxMembrosPublicos, maxClassesCabecalhos, valor);
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * Lançada quando a compilação passa de algum limite de LimitesCompilacao.
+ * A fase em andamento para imediatamente; o compilador devolve a mensagem como diagnóstico.
+ */
+public class LimiteExcedidoException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public LimiteExcedidoException(String mensagem) {
+        super(mensagem);
+    }
+}
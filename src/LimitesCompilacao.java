@@ -0,0 +1,59 @@
+/**
+ * Limites de recursos de uma compilação, para não deixar uma entrada patológica prender o processo.
+ * Imutável; cada "com..." devolve uma cópia. Use 0 para "sem limite".
+ */
+public final class LimitesCompilacao {
+
+    // Folgados o bastante para qualquer diagrama feito à mão; serviços devem apertar conforme a carga
+    public static final LimitesCompilacao PADRAO =
+            new LimitesCompilacao(16L * 1024 * 1024, 4_000_000, 100_000, 400_000, 10_000, 1_000, 0);
+
+    public static final LimitesCompilacao SEM_LIMITES = new LimitesCompilacao(0, 0, 0, 0, 0, 0, 0);
+
+    public final long maxBytesEntrada;
+    public final int maxTokens;
+    public final int maxClasses;
+    public final int maxRelacionamentos;
+    public final int maxMembrosPorClasse;
+    public final int maxDiagnosticos;   // erros de uma mesma fase antes de desistir da entrada
+    public final long tempoMaximoMs;     // prazo da compilação inteira (análise + SVG)
+
+    private LimitesCompilacao(long maxBytesEntrada, int maxTokens, int maxClasses, int maxRelacionamentos,
+                              int maxMembrosPorClasse, int maxDiagnosticos, long tempoMaximoMs) {
+        this.maxBytesEntrada = maxBytesEntrada;
+        this.maxTokens = maxTokens;
+        this.maxClasses = maxClasses;
+        this.maxRelacionamentos = maxRelacionamentos;
+        this.maxMembrosPorClasse = maxMembrosPorClasse;
+        this.maxDiagnosticos = maxDiagnosticos;
+        this.tempoMaximoMs = tempoMaximoMs;
+    }
+
+    public LimitesCompilacao comMaxBytesEntrada(long valor) {
+        return new LimitesCompilacao(valor, maxTokens, maxClasses, maxRelacionamentos, maxMembrosPorClasse, maxDiagnosticos, tempoMaximoMs);
+    }
+
+    public LimitesCompilacao comMaxTokens(int valor) {
+        return new LimitesCompilacao(maxBytesEntrada, valor, maxClasses, maxRelacionamentos, maxMembrosPorClasse, maxDiagnosticos, tempoMaximoMs);
+    }
+
+    public LimitesCompilacao comMaxClasses(int valor) {
+        return new LimitesCompilacao(maxBytesEntrada, maxTokens, valor, maxRelacionamentos, maxMembrosPorClasse, maxDiagnosticos, tempoMaximoMs);
+    }
+
+    public LimitesCompilacao comMaxRelacionamentos(int valor) {
+        return new LimitesCompilacao(maxBytesEntrada, maxTokens, maxClasses, valor, maxMembrosPorClasse, maxDiagnosticos, tempoMaximoMs);
+    }
+
+    public LimitesCompilacao comMaxMembrosPorClasse(int valor) {
+        return new LimitesCompilacao(maxBytesEntrada, maxTokens, maxClasses, maxRelacionamentos, valor, maxDiagnosticos, tempoMaximoMs);
+    }
+
+    public LimitesCompilacao comMaxDiagnosticos(int valor) {
+        return new LimitesCompilacao(maxBytesEntrada, maxTokens, maxClasses, maxRelacionamentos, maxMembrosPorClasse, valor, tempoMaximoMs);
+    }
+
+    public LimitesCompilacao comTempoMaximoMs(long valor) {
+        return new LimitesCompilacao(maxBytesEntrada, maxTokens, maxClasses, maxRelacionamentos, maxMembrosPorClasse, maxDiagnosticos, valor);
+    }
+}
@@ -0,0 +1,187 @@
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.AffineTransform;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mede a largura (em pixels) de textos usando as métricas reais da fonte (FontRenderContext,
+ * que não precisa de tela; o App liga o modo headless, quem embute a biblioteca decide).
+ * Mantém uma tabela de avanço por glifo pré-calculada e um cache de larguras já medidas,
+ * então medir o mesmo texto várias vezes custa apenas uma busca no mapa.
+ *
+ * Iniciar o AWT custa quase um segundo. Se a propriedade "compilador.metricas" apontar para um
+ * arquivo gravado por salvarTabelas (o treinamento faz isso), as tabelas vêm de lá e a fonte só
+ * é carregada se aparecer um caractere fora delas.
+ */
+public final class MedidorTexto {
+
+    public static final String PROPRIEDADE_METRICAS = "compilador.metricas";
+    private static final String CABECALHO_METRICAS = "# metricas CompiladorPlantUML v1";
+
+    // Latin-1 cobre ASCII e os acentos do português; o resto é medido pela fonte
+    private static final int TAMANHO_TABELA = 256;
+    private static final int LIMITE_CACHE = 100_000;
+
+    // precisa vir antes das instâncias abaixo, que consultam as tabelas salvas ao serem criadas
+    private static final Map<String, float[]> TABELAS_SALVAS = carregarTabelas();
+
+    // Fontes equivalentes às classes CSS usadas no SVG (.texto, .titulo e métodos em itálico)
+    public static final MedidorTexto TEXTO = new MedidorTexto("Arial", Font.PLAIN, 12);
+    public static final MedidorTexto TITULO = new MedidorTexto("Arial", Font.BOLD, 14);
+    public static final MedidorTexto METODO = new MedidorTexto("Arial", Font.ITALIC, 12);
+
+    private final String familia;
+    private final int estilo;
+    private final int tamanho;
+    private final float[] avancos;
+    private final ConcurrentHashMap<String, Integer> cache = new ConcurrentHashMap<>();
+
+    // criados só quando a fonte é necessária (sempre, se não houver tabela salva)
+    private volatile Font fonte;
+    private volatile FontRenderContext contexto;
+    private volatile boolean semFonte;
+
+    private MedidorTexto(String familia, int estilo, int tamanho) {
+        this.familia = familia;
+        this.estilo = estilo;
+        this.tamanho = tamanho;
+
+        float[] salva = TABELAS_SALVAS.get(chave());
+        if (salva != null) {
+            this.avancos = salva;
+            return;
+        }
+        this.avancos = new float[TAMANHO_TABELA];
+        for (char c = 0; c < TAMANHO_TABELA; c++) {
+            double avanco = medirPelaFonte(String.valueOf(c));
+            if (avanco < 0) {
+                // sem fontes/AWT disponível: volta para a estimativa antiga (~7px por caractere em 12px)
+                Arrays.fill(avancos, tamanho * 7f / 12f);
+                break;
+            }
+            avancos[c] = (float) avanco;
+        }
+    }
+
+    /**
+     * Largura do texto em pixels, arredondada para cima.
+     */
+    public int largura(String texto) {
+        if (texto == null || texto.isEmpty()) return 0;
+
+        Integer emCache = cache.get(texto);
+        if (emCache != null) return emCache;
+
+        int largura = (int) Math.ceil(medir(texto));
+        if (cache.size() >= LIMITE_CACHE) {
+            cache.clear(); // evita crescimento sem limite em diagramas gigantes
+        }
+        cache.put(texto, largura);
+        return largura;
+    }
+
+    private double medir(String texto) {
+        double total = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c >= TAMANHO_TABELA) {
+                // caractere fora da tabela: mede o texto inteiro direto pela fonte
+                double largura = medirPelaFonte(texto);
+                return largura >= 0 ? largura : texto.length() * avancos['a'];
+            }
+            total += avancos[c];
+        }
+        return total;
+    }
+
+    /**
+     * Largura do texto pela fonte, ou -1 se não houver AWT/fontes. O código nativo das fontes só
+     * é carregado aqui (Font e FontRenderContext são preguiçosos): num JRE enxuto, sem
+     * libfontmanager ou sem fontes instaladas, é aqui que aparece o LinkageError/AWTError.
+     */
+    private double medirPelaFonte(String texto) {
+        if (!carregarFonte()) return -1;
+        try {
+            return fonte.getStringBounds(texto, contexto).getWidth();
+        } catch (Throwable e) {
+            semFonte = true; // não tenta de novo: a próxima chamada falharia igual (NoClassDefFoundError)
+            return -1;
+        }
+    }
+
+    /**
+     * Carrega a fonte na primeira vez que ela for necessária. Devolve false se não houver AWT/fontes.
+     */
+    private boolean carregarFonte() {
+        if (semFonte) return false;
+        if (fonte != null) return true;
+        synchronized (this) {
+            if (fonte == null && !semFonte) {
+                try {
+                    contexto = new FontRenderContext(new AffineTransform(), true, true);
+                    fonte = new Font(familia, estilo, tamanho);
+                } catch (Throwable e) {
+                    semFonte = true;
+                }
+            }
+            return fonte != null;
+        }
+    }
+
+    private String chave() {
+        return familia + "\t" + estilo + "\t" + tamanho;
+    }
+
+    /**
+     * Grava as tabelas das três fontes para que as próximas execuções não precisem iniciar o AWT.
+     * Float.toString volta exatamente ao mesmo float, então as larguras (e o SVG) não mudam.
+     */
+    public static void salvarTabelas(Path arquivo) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            w.write(CABECALHO_METRICAS);
+            w.newLine();
+            for (MedidorTexto m : List.of(TEXTO, TITULO, METODO)) {
+                w.write(m.chave());
+                for (float a : m.avancos) {
+                    w.write('\t');
+                    w.write(Float.toString(a));
+                }
+                w.newLine();
+            }
+        }
+    }
+
+    /**
+     * Tabelas do arquivo indicado em PROPRIEDADE_METRICAS. Arquivo ausente ou inválido = nenhuma
+     * tabela (tudo é medido pela fonte, como sempre).
+     */
+    private static Map<String, float[]> carregarTabelas() {
+        Map<String, float[]> tabelas = new HashMap<>();
+        String caminho = System.getProperty(PROPRIEDADE_METRICAS);
+        if (caminho == null || caminho.isEmpty()) return tabelas;
+        try {
+            List<String> linhas = Files.readAllLines(Paths.get(caminho), StandardCharsets.UTF_8);
+            if (linhas.isEmpty() || !linhas.get(0).equals(CABECALHO_METRICAS)) return tabelas;
+            for (String linha : linhas.subList(1, linhas.size())) {
+                String[] campos = linha.split("\t");
+                if (campos.length != 3 + TAMANHO_TABELA) continue;
+                float[] avancos = new float[TAMANHO_TABELA];
+                for (int c = 0; c < TAMANHO_TABELA; c++) avancos[c] = Float.parseFloat(campos[3 + c]);
+                tabelas.put(campos[0] + "\t" + campos[1] + "\t" + campos[2], avancos);
+            }
+        } catch (IOException | RuntimeException e) {
+            tabelas.clear(); // arquivo ruim: melhor medir de novo do que desenhar com larguras erradas
+        }
+        return tabelas;
+    }
+}
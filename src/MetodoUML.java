@@ -2,11 +2,17 @@ public class MetodoUML {
     public final String visibilidade;
     public final String nome;
     public final String tipoRetorno;
+    public final Trecho trecho;
 
     public MetodoUML(String visibilidade, String nome, String tipoRetorno) {
+        this(visibilidade, nome, tipoRetorno, Trecho.VAZIO);
+    }
+
+    public MetodoUML(String visibilidade, String nome, String tipoRetorno, Trecho trecho) {
         this.visibilidade = visibilidade;
         this.nome = nome;
         this.tipoRetorno = tipoRetorno;
+        this.trecho = trecho;
     }
 
     @Override
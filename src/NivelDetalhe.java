@@ -0,0 +1,11 @@
+/**
+ * Quanto de cada classe o SVG mostra. Diagramas grandes demais para ler membro a membro ficam
+ * menores (e o navegador desenha mais rápido) trocando detalhe por visão geral.
+ */
+public enum NivelDetalhe {
+    AUTOMATICO,  // escolhe um dos níveis abaixo pelos LimiaresDetalhe das opções
+    COMPLETO,    // todos os atributos e métodos
+    PUBLICOS,    // só membros públicos
+    CABECALHOS,  // só o nome da classe
+    AGRUPADO     // classes juntadas em grupos (por componente e em volta das mais conectadas)
+}
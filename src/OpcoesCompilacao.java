@@ -0,0 +1,67 @@
+import java.nio.file.Path;
+
+/**
+ * Opções de compilação/renderização. Imutável: cada "com..." devolve uma cópia alterada,
+ * então uma mesma instância pode ser reaproveitada por várias threads.
+ */
+public final class OpcoesCompilacao {
+
+    public static final OpcoesCompilacao PADRAO = new OpcoesCompilacao(true, null, LimitesCompilacao.PADRAO,
+            NivelDetalhe.AUTOMATICO, LimiaresDetalhe.PADRAO, true);
+
+    public final boolean gerarSvg;      // false = só análise (léxica, sintática e semântica)
+    public final Path arquivoLayout;    // posições salvas entre execuções (null = sem layout persistente)
+    public final LimitesCompilacao limites;
+    public final NivelDetalhe nivelDetalhe;
+    public final LimiaresDetalhe limiaresDetalhe; // usados quando o nível é AUTOMATICO
+    public final boolean renderizacaoParalela; // false = SVG emitido numa thread só (a saída é a mesma)
+
+    private OpcoesCompilacao(boolean gerarSvg, Path arquivoLayout, LimitesCompilacao limites,
+                             NivelDetalhe nivelDetalhe, LimiaresDetalhe limiaresDetalhe, boolean renderizacaoParalela) {
+        this.gerarSvg = gerarSvg;
+        this.arquivoLayout = arquivoLayout;
+        this.limites = limites;
+        this.nivelDetalhe = nivelDetalhe;
+        this.limiaresDetalhe = limiaresDetalhe;
+        this.renderizacaoParalela = renderizacaoParalela;
+    }
+
+    public OpcoesCompilacao comGerarSvg(boolean gerarSvg) {
+        return new OpcoesCompilacao(gerarSvg, arquivoLayout, limites, nivelDetalhe, limiaresDetalhe, renderizacaoParalela);
+    }
+
+    /**
+     * O arquivo de layout é lido e regravado a cada renderização; não compartilhe o mesmo
+     * arquivo entre renderizações simultâneas.
+     */
+    public OpcoesCompilacao comArquivoLayout(Path arquivoLayout) {
+        return new OpcoesCompilacao(gerarSvg, arquivoLayout, limites, nivelDetalhe, limiaresDetalhe, renderizacaoParalela);
+    }
+
+    public OpcoesCompilacao comLimites(LimitesCompilacao limites) {
+        return new OpcoesCompilacao(gerarSvg, arquivoLayout, limites, nivelDetalhe, limiaresDetalhe, renderizacaoParalela);
+    }
+
+    public OpcoesCompilacao comNivelDetalhe(NivelDetalhe nivelDetalhe) {
+        return new OpcoesCompilacao(gerarSvg, arquivoLayout, limites, nivelDetalhe, limiaresDetalhe, renderizacaoParalela);
+    }
+
+    public OpcoesCompilacao comLimiaresDetalhe(LimiaresDetalhe limiaresDetalhe) {
+        return new OpcoesCompilacao(gerarSvg, arquivoLayout, limites, nivelDetalhe, limiaresDetalhe, renderizacaoParalela);
+    }
+
+    /**
+     * Diagramas grandes têm as caixas e linhas do SVG desenhadas em paralelo (pool fork-join).
+     * Desligar serve para medir ou para não ocupar outros núcleos; o SVG não muda.
+     */
+    public OpcoesCompilacao comRenderizacaoParalela(boolean renderizacaoParalela) {
+        return new OpcoesCompilacao(gerarSvg, arquivoLayout, limites, nivelDetalhe, limiaresDetalhe, renderizacaoParalela);
+    }
+
+    /**
+     * O nível que será usado para este diagrama (resolve o AUTOMATICO).
+     */
+    public NivelDetalhe nivelPara(DiagramaUML diagrama) {
+        return nivelDetalhe == NivelDetalhe.AUTOMATICO ? limiaresDetalhe.escolher(diagrama) : nivelDetalhe;
+    }
+}
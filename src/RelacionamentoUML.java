@@ -3,12 +3,18 @@ public class RelacionamentoUML {
     public final String classeDestino;
     public final TipoToken tipoRelacionamento; // Ex: T_ASSOCIACAO, T_HERANCA
     public final String label; // Ex: "matriculado em"
+    public final Trecho trecho;
 
     public RelacionamentoUML(String origem, String destino, TipoToken tipo, String label) {
+        this(origem, destino, tipo, label, Trecho.VAZIO);
+    }
+
+    public RelacionamentoUML(String origem, String destino, TipoToken tipo, String label, Trecho trecho) {
         this.classeOrigem = origem;
         this.classeDestino = destino;
         this.tipoRelacionamento = tipo;
         this.label = label;
+        this.trecho = trecho;
     }
 
     @Override
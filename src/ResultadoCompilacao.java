@@ -0,0 +1,29 @@
+import java.util.List;
+
+/**
+ * O que sai de uma compilação: o diagrama (imutável), os diagnósticos e o SVG gerado.
+ */
+public final class ResultadoCompilacao {
+    public final DiagramaUML diagrama;
+    public final int quantidadeTokens;
+    public final List<Diagnostico> diagnosticos;
+    public final String svg; // null quando a geração de SVG foi desligada nas opções
+
+    public ResultadoCompilacao(DiagramaUML diagrama, int quantidadeTokens, List<Diagnostico> diagnosticos, String svg) {
+        this.diagrama = diagrama;
+        this.quantidadeTokens = quantidadeTokens;
+        this.diagnosticos = List.copyOf(diagnosticos);
+        this.svg = svg;
+    }
+
+    public boolean temErros() {
+        return !diagnosticos.isEmpty();
+    }
+
+    public boolean temErros(Diagnostico.Fase fase) {
+        for (Diagnostico d : diagnosticos) {
+            if (d.fase == fase) return true;
+        }
+        return false;
+    }
+}
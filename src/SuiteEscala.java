@@ -0,0 +1,282 @@
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.w3c.dom.Document;
+
+/**
+ * Regressão de escala: compila corpora sintéticos (GeradorCorpus) de 10 até 100 mil classes em
+ * todas as topologias, confere a saída e mede a vazão. Se o tempo crescer bem mais rápido que a
+ * entrada entre dois tamanhos seguidos (ex.: comportamento quadrático), o salto é apontado.
+ * Até 10 mil classes o SVG também é comparado com o da emissão sequencial. Antes da escala,
+ * entradas inválidas fixas conferem o que sobra delas depois da recuperação de erros.
+ *
+ * Uso: java SuiteEscala [maiorTamanho] [membrosPorClasse] [densidade]
+ * Sai com código 1 se alguma verificação falhar.
+ */
+public class SuiteEscala {
+
+    // expoente de crescimento (tempo ~ tamanho^k) a partir do qual o salto é suspeito
+    private static final double EXPOENTE_SUSPEITO = 1.5;
+    // abaixo disso o tempo é dominado por ruído (JIT, GC) e a comparação não diz nada
+    private static final double TEMPO_MINIMO_COMPARACAO_MS = 50;
+    // checagem de sobreposição é O(n²): só nos tamanhos pequenos
+    private static final int MAX_CLASSES_CHECAGEM_SOBREPOSICAO = 1_000;
+    // comparar com a emissão sequencial renderiza tudo de novo: até este tamanho
+    private static final int MAX_CLASSES_COMPARACAO_SEQUENCIAL = 10_000;
+
+    // título e rótulo com os caracteres especiais do XML (o texto livre vem cru do código-fonte)
+    private static final String TITULO_ESPECIAL = "Custo < Beneficio & \"co\" > Risco";
+    private static final String ROTULO_ESPECIAL = "Tom < Jerry & co";
+    private static final String ENTRADA_ESPECIAL = "@startuml\n"
+            + "title " + TITULO_ESPECIAL + "\n"
+            + "class A {\n  + nome : String\n}\n"
+            + "class B\n"
+            + "A --> B : " + ROTULO_ESPECIAL + "\n"
+            + "@enduml\n";
+
+    // Entradas inválidas (ou que mudaram de status com o parser por tabela) e o que sobra delas
+    // depois da recuperação de erros: { nome, entrada, resumo esperado (ver resumir) }
+    private static final String[][] CASOS_RECUPERACAO = {
+        { "parâmetros em duas linhas",
+            "@startuml\nclass A {\n  + f(x: int,\n    y: int) : void\n  + ok() : void\n}\n@enduml\n",
+            "classe A { y:int void:String | ok():void }\n"
+            + "Erro Sintático: Esperado ')' (encontrado: quebra de linha na linha 3)\n"
+            + "Erro Sintático: Token inesperado ignorado: )\n"
+            + "Erro Sintático: Token inesperado ignorado: :\n" },
+        { "declaração depois de relacionamento na mesma linha",
+            "@startuml\nclass A\nclass B\nclass C\nA --> B class C\nB --> C\n@enduml\n",
+            "classe A { | }\nclasse B { | }\nclasse C { | }\n"
+            + "relacionamento B T_ASSOCIACAO C ''\n"
+            + "Erro Sintático: Esperado ':' ou quebra de linha (encontrado: 'class' na linha 5)\n" },
+        { "título vai até o fim da linha",
+            "@startuml\ntitle Meu titulo class X\nclass A\n@enduml\n",
+            "título Meu titulo class X\nclasse A { | }\n" },
+        { "parâmetros genéricos",
+            "@startuml\nclass A {\n  + add(List<Item> itens): void\n  - nome : String\n}\n@enduml\n",
+            "classe A { nome:String | add():void }\n" },
+        { "tokens soltos e relacionamento incompleto",
+            "@startuml\nclass A\n} ; lixo\nA --> : falta\nclass B\nB <|-- A : herda\n@enduml\n",
+            "classe A { | }\nclasse B { | }\n"
+            + "relacionamento B T_HERANCA A 'herda'\n"
+            + "Erro Léxico: Caractere inesperado ';' na Linha 3 Col 4\n"
+            + "Erro Sintático: Token inesperado ignorado: }\n"
+            + "Erro Sintático: Esperado operador de relacionamento (--, -->, o--, *--, <|-- ou <|..) (encontrado: quebra de linha na linha 3)\n"
+            + "Erro Sintático: Esperado identificador (encontrado: ':' na linha 4)\n" },
+        { "classe sem '}' no fim do arquivo",
+            "@startuml\nclass A {\n  + nome : String\n",
+            "Erro Sintático: Esperado '}' (encontrado: fim do arquivo na linha 4)\n" },
+        { "sem @startuml",
+            "class A\n@enduml\n",
+            "Erro Sintático: Esperado '@startuml' (encontrado: 'class' na linha 1)\n" },
+    };
+
+    private static final Pattern CAIXA = Pattern.compile(
+            "<rect x=\"(-?\\d+)\" y=\"(-?\\d+)\" width=\"(\\d+)\" height=\"(\\d+)\" class=\"box\" />");
+
+    public static void main(String[] args) {
+        int maiorTamanho = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int membros = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        double densidade = args.length > 2 ? Double.parseDouble(args[2]) : 1.5;
+
+        // a suíte mede o próprio compilador, então nenhum limite deve interromper a execução;
+        // a tabela principal desenha tudo (COMPLETO) para as verificações contarem cada classe
+        OpcoesCompilacao automatico = OpcoesCompilacao.PADRAO.comLimites(LimitesCompilacao.SEM_LIMITES);
+        OpcoesCompilacao opcoes = automatico.comNivelDetalhe(NivelDetalhe.COMPLETO);
+
+        List<Integer> tamanhos = new ArrayList<>();
+        for (int n = 10; n <= maiorTamanho; n *= 10) tamanhos.add(n);
+
+        // aquecimento do JIT para o primeiro tamanho não pagar a compilação do próprio compilador
+        for (int i = 0; i < 5; i++) {
+            CompiladorPlantUML.compilar(new GeradorCorpus(200, membros, densidade, GeradorCorpus.Topologia.DAG, i).gerar().texto, opcoes);
+        }
+
+        int falhas = 0;
+        List<String> suspeitas = new ArrayList<>();
+
+        String erroEspecial = verificarCaracteresEspeciais(opcoes);
+        System.out.println("Caracteres especiais do XML: " + (erroEspecial == null ? "OK" : "FALHOU: " + erroEspecial));
+        if (erroEspecial != null) falhas++;
+        for (String[] caso : CASOS_RECUPERACAO) {
+            String obtido = resumir(CompiladorPlantUML.compilar(caso[1], opcoes.comGerarSvg(false)));
+            if (!obtido.equals(caso[2])) {
+                falhas++;
+                System.out.println("Recuperação de erros FALHOU: " + caso[0]);
+                System.out.print("  esperado:\n" + caso[2].replaceAll("(?m)^", "    ") + "  obtido:\n" + obtido.replaceAll("(?m)^", "    "));
+            }
+        }
+        System.out.println("Recuperação de erros: " + CASOS_RECUPERACAO.length + " casos conferidos.");
+        System.out.println();
+
+        System.out.println(String.format(Locale.ROOT, "%-13s %8s %10s %10s %10s %14s  %s",
+                "topologia", "classes", "relac.", "tempo(ms)", "KiB SVG", "classes/s", "status"));
+
+        for (GeradorCorpus.Topologia topologia : GeradorCorpus.Topologia.values()) {
+            double tempoAnterior = 0;
+            int tamanhoAnterior = 0;
+
+            for (int n : tamanhos) {
+                GeradorCorpus.Corpus corpus = new GeradorCorpus(n, membros, densidade, topologia, n).gerar();
+
+                long inicio = System.nanoTime();
+                ResultadoCompilacao resultado = CompiladorPlantUML.compilar(corpus.texto, opcoes);
+                double tempoMs = (System.nanoTime() - inicio) / 1e6;
+
+                String erro = verificar(corpus, resultado);
+                if (erro == null && n <= MAX_CLASSES_COMPARACAO_SEQUENCIAL
+                        && !resultado.svg.equals(CompiladorPlantUML.renderizar(resultado.diagrama, opcoes.comRenderizacaoParalela(false)))) {
+                    erro = "SVG da emissão paralela difere do sequencial";
+                }
+                if (erro != null) falhas++;
+
+                long kib = resultado.svg == null ? 0 : resultado.svg.length() / 1024;
+                System.out.println(String.format(Locale.ROOT, "%-13s %8d %10d %10.1f %10d %14.0f  %s",
+                        topologia, n, corpus.relacionamentos, tempoMs, kib, n / (tempoMs / 1000),
+                        erro == null ? "OK" : "FALHOU: " + erro));
+
+                if (tamanhoAnterior > 0 && tempoMs > TEMPO_MINIMO_COMPARACAO_MS) {
+                    double expoente = Math.log(tempoMs / Math.max(tempoAnterior, 0.001))
+                            / Math.log((double) n / tamanhoAnterior);
+                    if (expoente > EXPOENTE_SUSPEITO) {
+                        suspeitas.add(String.format(Locale.ROOT, "%s: %d -> %d classes, tempo ~ n^%.2f (%.1f ms -> %.1f ms)",
+                                topologia, tamanhoAnterior, n, expoente, tempoAnterior, tempoMs));
+                    }
+                }
+                tempoAnterior = tempoMs;
+                tamanhoAnterior = n;
+            }
+        }
+
+        // nível de detalhe automático: o SVG deve parar de crescer junto com o diagrama
+        System.out.println();
+        System.out.println(String.format(Locale.ROOT, "%-13s %8s %12s %10s %10s  %s",
+                "topologia", "classes", "nível", "tempo(ms)", "KiB SVG", "status"));
+        for (GeradorCorpus.Topologia topologia : GeradorCorpus.Topologia.values()) {
+            for (int n : tamanhos) {
+                GeradorCorpus.Corpus corpus = new GeradorCorpus(n, membros, densidade, topologia, n).gerar();
+                long inicio = System.nanoTime();
+                ResultadoCompilacao resultado = CompiladorPlantUML.compilar(corpus.texto, automatico);
+                double tempoMs = (System.nanoTime() - inicio) / 1e6;
+
+                String erro = null;
+                if (resultado.temErros()) erro = "diagnósticos inesperados: " + resultado.diagnosticos.get(0);
+                else if (resultado.svg == null || !resultado.svg.endsWith("</svg>")) erro = "SVG incompleto";
+                if (erro != null) falhas++;
+
+                System.out.println(String.format(Locale.ROOT, "%-13s %8d %12s %10.1f %10d  %s",
+                        topologia, n, automatico.nivelPara(resultado.diagrama), tempoMs,
+                        resultado.svg == null ? 0 : resultado.svg.length() / 1024, erro == null ? "OK" : "FALHOU: " + erro));
+            }
+        }
+
+        System.out.println();
+        if (suspeitas.isEmpty()) {
+            System.out.println("Nenhum crescimento super-linear suspeito.");
+        } else {
+            System.out.println("[AVISO] Crescimento super-linear suspeito:");
+            for (String s : suspeitas) System.out.println("  " + s);
+        }
+        System.out.println(falhas == 0 ? "Todas as verificações passaram." : falhas + " verificação(ões) falharam.");
+
+        if (falhas > 0) System.exit(1);
+    }
+
+    /**
+     * Confere a saída contra o que o gerador produziu. Devolve null se estiver tudo certo.
+     */
+    private static String verificar(GeradorCorpus.Corpus corpus, ResultadoCompilacao resultado) {
+        if (resultado.temErros()) return "diagnósticos inesperados: " + resultado.diagnosticos.get(0);
+        if (resultado.diagrama.classes.size() != corpus.classes) {
+            return "esperadas " + corpus.classes + " classes, parser achou " + resultado.diagrama.classes.size();
+        }
+        if (resultado.diagrama.relacionamentos.size() != corpus.relacionamentos) {
+            return "esperados " + corpus.relacionamentos + " relacionamentos, parser achou "
+                    + resultado.diagrama.relacionamentos.size();
+        }
+
+        String svg = resultado.svg;
+        if (svg == null || !svg.startsWith("<svg") || !svg.endsWith("</svg>")) return "SVG incompleto";
+
+        int linhasRelacionamento = contar(svg, "marker-end=");
+        if (linhasRelacionamento != corpus.relacionamentos) {
+            return "esperadas " + corpus.relacionamentos + " linhas de relacionamento, SVG tem " + linhasRelacionamento;
+        }
+
+        List<int[]> caixas = new ArrayList<>();
+        Matcher m = CAIXA.matcher(svg);
+        while (m.find()) {
+            caixas.add(new int[] { Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2)),
+                    Integer.parseInt(m.group(3)), Integer.parseInt(m.group(4)) });
+        }
+        if (caixas.size() != corpus.classes) {
+            return "esperadas " + corpus.classes + " caixas, SVG tem " + caixas.size();
+        }
+        for (int[] c : caixas) {
+            if (c[0] < 0 || c[1] < 0) return "caixa fora do canvas em (" + c[0] + ", " + c[1] + ")";
+        }
+        if (caixas.size() <= MAX_CLASSES_CHECAGEM_SOBREPOSICAO) {
+            for (int i = 0; i < caixas.size(); i++) {
+                for (int j = i + 1; j < caixas.size(); j++) {
+                    int[] a = caixas.get(i), b = caixas.get(j);
+                    if (a[0] < b[0] + b[2] && b[0] < a[0] + a[2] && a[1] < b[1] + b[3] && b[1] < a[1] + a[3]) {
+                        return "caixas sobrepostas em (" + a[0] + ", " + a[1] + ") e (" + b[0] + ", " + b[1] + ")";
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * O SVG de um diagrama com &, <, > e aspas no título e no rótulo tem que ser XML válido e
+     * mostrar o texto original. Devolve null se estiver tudo certo.
+     */
+    private static String verificarCaracteresEspeciais(OpcoesCompilacao opcoes) {
+        ResultadoCompilacao resultado = CompiladorPlantUML.compilar(ENTRADA_ESPECIAL, opcoes);
+        if (resultado.svg == null) return "SVG não gerado: " + resultado.diagnosticos;
+        Document documento;
+        try {
+            documento = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                    .parse(new ByteArrayInputStream(resultado.svg.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            return "SVG não é XML válido: " + e.getMessage();
+        }
+        String texto = documento.getDocumentElement().getTextContent();
+        if (!texto.contains(TITULO_ESPECIAL)) return "título alterado no SVG";
+        if (!texto.contains(ROTULO_ESPECIAL)) return "rótulo alterado no SVG";
+        return null;
+    }
+
+    /**
+     * Título, classes (atributos | métodos), relacionamentos e diagnósticos, uma linha cada.
+     */
+    private static String resumir(ResultadoCompilacao resultado) {
+        StringBuilder sb = new StringBuilder();
+        DiagramaUML diagrama = resultado.diagrama;
+        if (!diagrama.titulo.isEmpty()) sb.append("título ").append(diagrama.titulo).append('\n');
+        for (ClasseUML c : diagrama.classes) {
+            sb.append("classe ").append(c.nome).append(" {");
+            for (AtributoUML a : c.atributos) sb.append(' ').append(a.nome).append(':').append(a.tipo);
+            sb.append(" |");
+            for (MetodoUML m : c.metodos) sb.append(' ').append(m.nome).append("():").append(m.tipoRetorno);
+            sb.append(" }\n");
+        }
+        for (RelacionamentoUML r : diagrama.relacionamentos) {
+            sb.append("relacionamento ").append(r.classeOrigem).append(' ').append(r.tipoRelacionamento)
+                    .append(' ').append(r.classeDestino).append(" '").append(r.label).append("'\n");
+        }
+        for (Diagnostico d : resultado.diagnosticos) sb.append(d).append('\n');
+        return sb.toString();
+    }
+
+    private static int contar(String texto, String trecho) {
+        int total = 0;
+        for (int i = texto.indexOf(trecho); i >= 0; i = texto.indexOf(trecho, i + trecho.length())) total++;
+        return total;
+    }
+}
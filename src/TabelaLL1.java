@@ -0,0 +1,202 @@
+// Gerado por GeradorTabelaLL1 a partir de Gramatica.txt. Não edite à mão: mude a gramática e rode
+//   java -cp bin GeradorTabelaLL1 Gramatica.txt src/TabelaLL1.java
+
+/**
+ * Tabela LL(1) do AnalisadorSintatico.
+ *
+ * Símbolos são ints: terminal = ordinal do TipoToken, não-terminal = TERMINAIS + índice,
+ * ação semântica = -1 - índice. TABELA[não-terminal][terminal] é a produção a expandir
+ * (-1 = erro) e PRODUCOES[p] é o lado direito dela, na ordem da gramática.
+ */
+public final class TabelaLL1 {
+
+    public static final int TERMINAIS = 28;
+
+    // Não-terminais
+    public static final int NT_PROGRAMA = 28;
+    public static final int NT_LISTA_DECLARACOES = 29;
+    public static final int NT_DECLARACAO = 30;
+    public static final int NT_DECLARACAO_TITULO = 31;
+    public static final int NT_DECLARACAO_CLASSE = 32;
+    public static final int NT_CORPO_CLASSE_OPCIONAL = 33;
+    public static final int NT_LISTA_MEMBROS = 34;
+    public static final int NT_DECLARACAO_MEMBRO = 35;
+    public static final int NT_VISIBILIDADE = 36;
+    public static final int NT_TIPO_MEMBRO = 37;
+    public static final int NT_TIPO_OPCIONAL = 38;
+    public static final int NT_LISTA_PARAMETROS = 39;
+    public static final int NT_TEXTO_PARAMETRO = 40;
+    public static final int NT_DECLARACAO_RELACIONAMENTO = 41;
+    public static final int NT_OPERADOR = 42;
+    public static final int NT_LABEL_OPCIONAL = 43;
+    public static final int NT_TEXTO_LIVRE = 44;
+    public static final int NT_PALAVRA_TEXTO = 45;
+
+    // Ações semânticas
+    public static final int ACAO_INICIO_TEXTO = -1;
+    public static final int ACAO_TITULO = -2;
+    public static final int ACAO_NOME_CLASSE = -3;
+    public static final int ACAO_CLASSE = -4;
+    public static final int ACAO_INICIO_MEMBRO = -5;
+    public static final int ACAO_NOME_MEMBRO = -6;
+    public static final int ACAO_VISIBILIDADE = -7;
+    public static final int ACAO_METODO = -8;
+    public static final int ACAO_ATRIBUTO = -9;
+    public static final int ACAO_TIPO = -10;
+    public static final int ACAO_ORIGEM = -11;
+    public static final int ACAO_OPERADOR = -12;
+    public static final int ACAO_DESTINO = -13;
+    public static final int ACAO_RELACIONAMENTO = -14;
+    public static final int ACAO_LABEL = -15;
+
+    public static final int SIMBOLO_INICIAL = NT_PROGRAMA;
+
+    public static final String[] NOMES_NAO_TERMINAIS = {
+        "Programa",
+        "ListaDeclaracoes",
+        "Declaracao",
+        "DeclaracaoTitulo",
+        "DeclaracaoClasse",
+        "CorpoClasseOpcional",
+        "ListaMembros",
+        "DeclaracaoMembro",
+        "Visibilidade",
+        "TipoMembro",
+        "TipoOpcional",
+        "ListaParametros",
+        "TextoParametro",
+        "DeclaracaoRelacionamento",
+        "Operador",
+        "LabelOpcional",
+        "TextoLivre",
+        "PalavraTexto",
+    };
+
+    public static final int[][] PRODUCOES = {
+        { 0, 29, 1 },                            // 0: <Programa> ::= T_START_UML <ListaDeclaracoes> T_END_UML
+        { 30, 29 },                              // 1: <ListaDeclaracoes> ::= <Declaracao> <ListaDeclaracoes>
+        {},                                      // 2: <ListaDeclaracoes> ::= ε
+        { 32 },                                  // 3: <Declaracao> ::= <DeclaracaoClasse>
+        { 31 },                                  // 4: <Declaracao> ::= <DeclaracaoTitulo>
+        { 41 },                                  // 5: <Declaracao> ::= <DeclaracaoRelacionamento>
+        { 26 },                                  // 6: <Declaracao> ::= T_NEWLINE
+        { 5, -1, 44, -2, 26 },                   // 7: <DeclaracaoTitulo> ::= T_TITLE {inicioTexto} <TextoLivre> {titulo} T_NEWLINE
+        { 2, 24, -3, 33, -4 },                   // 8: <DeclaracaoClasse> ::= T_CLASS T_ID {nomeClasse} <CorpoClasseOpcional> {classe}
+        { 6, 34, 7 },                            // 9: <CorpoClasseOpcional> ::= T_OPEN_BRACE <ListaMembros> T_CLOSE_BRACE
+        {},                                      // 10: <CorpoClasseOpcional> ::= ε
+        { 35, 34 },                              // 11: <ListaMembros> ::= <DeclaracaoMembro> <ListaMembros>
+        { 26, 34 },                              // 12: <ListaMembros> ::= T_NEWLINE <ListaMembros>
+        {},                                      // 13: <ListaMembros> ::= ε
+        { -5, 36, 24, -6, 37 },                  // 14: <DeclaracaoMembro> ::= {inicioMembro} <Visibilidade> T_ID {nomeMembro} <TipoMembro>
+        { 14, -7 },                              // 15: <Visibilidade> ::= T_PUBLIC {visibilidade}
+        { 15, -7 },                              // 16: <Visibilidade> ::= T_PRIVATE {visibilidade}
+        { 16, -7 },                              // 17: <Visibilidade> ::= T_PROTECTED {visibilidade}
+        { 17, -7 },                              // 18: <Visibilidade> ::= T_PACKAGE {visibilidade}
+        {},                                      // 19: <Visibilidade> ::= ε
+        { 8, 39, 9, 38, -8 },                    // 20: <TipoMembro> ::= T_OPEN_PAREN <ListaParametros> T_CLOSE_PAREN <TipoOpcional> {metodo}
+        { 38, -9 },                              // 21: <TipoMembro> ::= <TipoOpcional> {atributo}
+        { 11, 24, -10 },                         // 22: <TipoOpcional> ::= T_COLON T_ID {tipo}
+        {},                                      // 23: <TipoOpcional> ::= ε
+        { 40, 39 },                              // 24: <ListaParametros> ::= <TextoParametro> <ListaParametros>
+        {},                                      // 25: <ListaParametros> ::= ε
+        { 24 },                                  // 26: <TextoParametro> ::= T_ID
+        { 25 },                                  // 27: <TextoParametro> ::= T_STRING_LITERAL
+        { 13 },                                  // 28: <TextoParametro> ::= T_GREATER
+        { 11 },                                  // 29: <TextoParametro> ::= T_COLON
+        { 12 },                                  // 30: <TextoParametro> ::= T_COMMA
+        { 10 },                                  // 31: <TextoParametro> ::= T_SEMICOLON
+        { 8 },                                   // 32: <TextoParametro> ::= T_OPEN_PAREN
+        { 6 },                                   // 33: <TextoParametro> ::= T_OPEN_BRACE
+        { 7 },                                   // 34: <TextoParametro> ::= T_CLOSE_BRACE
+        { 14 },                                  // 35: <TextoParametro> ::= T_PUBLIC
+        { 15 },                                  // 36: <TextoParametro> ::= T_PRIVATE
+        { 16 },                                  // 37: <TextoParametro> ::= T_PROTECTED
+        { 17 },                                  // 38: <TextoParametro> ::= T_PACKAGE
+        { 23 },                                  // 39: <TextoParametro> ::= T_LINK
+        { 20 },                                  // 40: <TextoParametro> ::= T_ASSOCIACAO
+        { 21 },                                  // 41: <TextoParametro> ::= T_AGREGACAO
+        { 22 },                                  // 42: <TextoParametro> ::= T_COMPOSICAO
+        { 18 },                                  // 43: <TextoParametro> ::= T_HERANCA
+        { 19 },                                  // 44: <TextoParametro> ::= T_IMPLEMENTACAO
+        { 2 },                                   // 45: <TextoParametro> ::= T_CLASS
+        { 3 },                                   // 46: <TextoParametro> ::= T_ABSTRACT
+        { 4 },                                   // 47: <TextoParametro> ::= T_STATIC
+        { 5 },                                   // 48: <TextoParametro> ::= T_TITLE
+        { 0 },                                   // 49: <TextoParametro> ::= T_START_UML
+        { 1 },                                   // 50: <TextoParametro> ::= T_END_UML
+        { 24, -11, 42, -12, 24, -13, 43, -14, 26 }, // 51: <DeclaracaoRelacionamento> ::= T_ID {origem} <Operador> {operador} T_ID {destino} <LabelOpcional> {relacionamento} T_NEWLINE
+        { 23 },                                  // 52: <Operador> ::= T_LINK
+        { 20 },                                  // 53: <Operador> ::= T_ASSOCIACAO
+        { 21 },                                  // 54: <Operador> ::= T_AGREGACAO
+        { 22 },                                  // 55: <Operador> ::= T_COMPOSICAO
+        { 18 },                                  // 56: <Operador> ::= T_HERANCA
+        { 19 },                                  // 57: <Operador> ::= T_IMPLEMENTACAO
+        { 11, -1, 44, -15 },                     // 58: <LabelOpcional> ::= T_COLON {inicioTexto} <TextoLivre> {label}
+        {},                                      // 59: <LabelOpcional> ::= ε
+        { 45, 44 },                              // 60: <TextoLivre> ::= <PalavraTexto> <TextoLivre>
+        {},                                      // 61: <TextoLivre> ::= ε
+        { 24 },                                  // 62: <PalavraTexto> ::= T_ID
+        { 25 },                                  // 63: <PalavraTexto> ::= T_STRING_LITERAL
+        { 13 },                                  // 64: <PalavraTexto> ::= T_GREATER
+        { 11 },                                  // 65: <PalavraTexto> ::= T_COLON
+        { 12 },                                  // 66: <PalavraTexto> ::= T_COMMA
+        { 10 },                                  // 67: <PalavraTexto> ::= T_SEMICOLON
+        { 8 },                                   // 68: <PalavraTexto> ::= T_OPEN_PAREN
+        { 9 },                                   // 69: <PalavraTexto> ::= T_CLOSE_PAREN
+        { 6 },                                   // 70: <PalavraTexto> ::= T_OPEN_BRACE
+        { 7 },                                   // 71: <PalavraTexto> ::= T_CLOSE_BRACE
+        { 14 },                                  // 72: <PalavraTexto> ::= T_PUBLIC
+        { 15 },                                  // 73: <PalavraTexto> ::= T_PRIVATE
+        { 16 },                                  // 74: <PalavraTexto> ::= T_PROTECTED
+        { 17 },                                  // 75: <PalavraTexto> ::= T_PACKAGE
+        { 23 },                                  // 76: <PalavraTexto> ::= T_LINK
+        { 20 },                                  // 77: <PalavraTexto> ::= T_ASSOCIACAO
+        { 21 },                                  // 78: <PalavraTexto> ::= T_AGREGACAO
+        { 22 },                                  // 79: <PalavraTexto> ::= T_COMPOSICAO
+        { 18 },                                  // 80: <PalavraTexto> ::= T_HERANCA
+        { 19 },                                  // 81: <PalavraTexto> ::= T_IMPLEMENTACAO
+        { 2 },                                   // 82: <PalavraTexto> ::= T_CLASS
+        { 3 },                                   // 83: <PalavraTexto> ::= T_ABSTRACT
+        { 4 },                                   // 84: <PalavraTexto> ::= T_STATIC
+        { 5 },                                   // 85: <PalavraTexto> ::= T_TITLE
+        { 0 },                                   // 86: <PalavraTexto> ::= T_START_UML
+        { 1 },                                   // 87: <PalavraTexto> ::= T_END_UML
+    };
+
+    public static final short[][] TABELA = {
+        // colunas: T_START_UML, T_END_UML, T_CLASS, T_ABSTRACT, T_STATIC, T_TITLE, T_OPEN_BRACE, T_CLOSE_BRACE, T_OPEN_PAREN, T_CLOSE_PAREN, T_SEMICOLON, T_COLON, T_COMMA, T_GREATER, T_PUBLIC, T_PRIVATE, T_PROTECTED, T_PACKAGE, T_HERANCA, T_IMPLEMENTACAO, T_ASSOCIACAO, T_AGREGACAO, T_COMPOSICAO, T_LINK, T_ID, T_STRING_LITERAL, T_NEWLINE, T_EOF
+        { 0, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1 }, // <Programa>
+        { -1, 2, 1, -1, -1, 1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 1, -1, 1, -1 }, // <ListaDeclaracoes>
+        { -1, -1, 3, -1, -1, 4, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 5, -1, 6, -1 }, // <Declaracao>
+        { -1, -1, -1, -1, -1, 7, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1 }, // <DeclaracaoTitulo>
+        { -1, -1, 8, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1 }, // <DeclaracaoClasse>
+        { -1, 10, 10, -1, -1, 10, 9, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 10, -1, 10, -1 }, // <CorpoClasseOpcional>
+        { -1, -1, -1, -1, -1, -1, -1, 13, -1, -1, -1, -1, -1, -1, 11, 11, 11, 11, -1, -1, -1, -1, -1, -1, 11, -1, 12, -1 }, // <ListaMembros>
+        { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 14, 14, 14, 14, -1, -1, -1, -1, -1, -1, 14, -1, -1, -1 }, // <DeclaracaoMembro>
+        { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 15, 16, 17, 18, -1, -1, -1, -1, -1, -1, 19, -1, -1, -1 }, // <Visibilidade>
+        { -1, -1, -1, -1, -1, -1, -1, 21, 20, -1, -1, 21, -1, -1, 21, 21, 21, 21, -1, -1, -1, -1, -1, -1, 21, -1, 21, -1 }, // <TipoMembro>
+        { -1, -1, -1, -1, -1, -1, -1, 23, -1, -1, -1, 22, -1, -1, 23, 23, 23, 23, -1, -1, -1, -1, -1, -1, 23, -1, 23, -1 }, // <TipoOpcional>
+        { 24, 24, 24, 24, 24, 24, 24, 24, 24, 25, 24, 24, 24, 24, 24, 24, 24, 24, 24, 24, 24, 24, 24, 24, 24, 24, -1, -1 }, // <ListaParametros>
+        { 49, 50, 45, 46, 47, 48, 33, 34, 32, -1, 31, 29, 30, 28, 35, 36, 37, 38, 43, 44, 40, 41, 42, 39, 26, 27, -1, -1 }, // <TextoParametro>
+        { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 51, -1, -1, -1 }, // <DeclaracaoRelacionamento>
+        { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 56, 57, 53, 54, 55, 52, -1, -1, -1, -1 }, // <Operador>
+        { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 58, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 59, -1 }, // <LabelOpcional>
+        { 60, 60, 60, 60, 60, 60, 60, 60, 60, 60, 60, 60, 60, 60, 60, 60, 60, 60, 60, 60, 60, 60, 60, 60, 60, 60, 61, -1 }, // <TextoLivre>
+        { 86, 87, 82, 83, 84, 85, 70, 71, 68, 69, 67, 65, 66, 64, 72, 73, 74, 75, 80, 81, 77, 78, 79, 76, 62, 63, -1, -1 }, // <PalavraTexto>
+    };
+
+    // TipoToken na época da geração: se o enum mudar, os ordinais acima deixam de valer
+    private static final String TOKENS =
+            "T_START_UML T_END_UML T_CLASS T_ABSTRACT T_STATIC T_TITLE T_OPEN_BRACE T_CLOSE_BRACE T_OPEN_PAREN T_CLOSE_PAREN T_SEMICOLON T_COLON T_COMMA T_GREATER T_PUBLIC T_PRIVATE T_PROTECTED T_PACKAGE T_HERANCA T_IMPLEMENTACAO T_ASSOCIACAO T_AGREGACAO T_COMPOSICAO T_LINK T_ID T_STRING_LITERAL T_NEWLINE T_EOF";
+
+    static {
+        StringBuilder atuais = new StringBuilder();
+        for (TipoToken t : TipoToken.values()) atuais.append(t.ordinal() == 0 ? "" : " ").append(t.name());
+        if (!atuais.toString().equals(TOKENS)) {
+            throw new IllegalStateException("TabelaLL1 desatualizada (TipoToken mudou): rode GeradorTabelaLL1.");
+        }
+    }
+
+    private TabelaLL1() {
+    }
+}
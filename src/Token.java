@@ -4,12 +4,16 @@ public class Token {
     public final String lexema;
     public final int linha;
     public final int coluna;
+    public final int inicio; // posição no código-fonte: [inicio, fim), aspas incluídas nas strings
+    public final int fim;
 
-    public Token(TipoToken tipo, String lexema, int linha, int coluna) {
+    public Token(TipoToken tipo, String lexema, int linha, int coluna, int inicio, int fim) {
         this.tipo = tipo;
         this.lexema = lexema;
         this.linha = linha;
         this.coluna = coluna;
+        this.inicio = inicio;
+        this.fim = fim;
     }
 
     @Override
@@ -17,4 +21,4 @@ public class Token {
         return String.format("[Tipo: %-15s | Lexema: '%-10s' | Linha: %d Col: %d]",
                 tipo.name(), lexema, linha, coluna);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+/**
+ * Intervalo [inicio, fim) de caracteres no código-fonte. Cada nó do diagrama guarda o trecho de
+ * onde veio, para os erros apontarem a posição exata.
+ */
+public final class Trecho {
+
+    /** Nó sem origem no texto (montado direto pelo código, não pelo parser). */
+    public static final Trecho VAZIO = new Trecho(-1, -1);
+
+    public final int inicio;
+    public final int fim;
+
+    public Trecho(int inicio, int fim) {
+        this.inicio = inicio;
+        this.fim = fim;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Trecho)) return false;
+        Trecho t = (Trecho) o;
+        return inicio == t.inicio && fim == t.fim;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * inicio + fim;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + inicio + ", " + fim + ")";
+    }
+}
@@ -0,0 +1,155 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Treinamento para partidas rápidas (App --treinar): empacota as classes em compilador.jar e roda
+ * o pipeline inteiro em entradas representativas numa JVM filha com -XX:ArchiveClassesAtExit, que
+ * grava as classes carregadas em compilador.jsa (AppCDS). A filha também grava as tabelas de
+ * métricas da fonte em compilador.metricas, para as próximas execuções não iniciarem o AWT.
+ *
+ * O script compilador.sh usa os três arquivos automaticamente quando eles existem.
+ * O arquivo CDS dinâmico exige JDK 13 ou superior; em JDKs mais antigos só as métricas são geradas.
+ */
+public final class TreinamentoCDS {
+
+    public static final String ARQUIVO_JAR = "compilador.jar";
+    public static final String ARQUIVO_CDS = "compilador.jsa";
+    public static final String ARQUIVO_METRICAS = "compilador.metricas";
+
+    private static final String EXEMPLO =
+            "@startuml\n" +
+            "title Exemplo de Sistema\n" +
+            "class Usuario {\n" +
+            "  - nome: String\n" +
+            "  + login()\n" +
+            "}\n" +
+            "class Sistema {\n" +
+            "  + autenticar(): boolean\n" +
+            "}\n" +
+            "Usuario --> Sistema : acessa >\n" +
+            "Sistema <|-- Usuario\n" +
+            "Sistema *-- Usuario\n" +
+            "Sistema o-- Usuario\n" +
+            "Sistema <|.. Usuario\n" +
+            "Sistema -- Usuario : \"entre aspas\"\n" +
+            "@enduml\n";
+
+    // erros em todas as fases, para os caminhos de diagnóstico também entrarem no arquivo
+    private static final String EXEMPLO_COM_ERROS =
+            "@startuml\n" +
+            "title Com erros $\n" +
+            "class A {\n" +
+            "  + x: \n" +
+            "}\n" +
+            "class A\n" +
+            "A --> Fantasma : \"sem fim\n" +
+            "@enduml\n";
+
+    private TreinamentoCDS() {
+    }
+
+    /**
+     * Gera compilador.jar, compilador.jsa e compilador.metricas em diretorio.
+     */
+    public static void treinar(Path diretorio) throws IOException, InterruptedException {
+        Files.createDirectories(diretorio);
+        Path jar = diretorio.resolve(ARQUIVO_JAR).toAbsolutePath();
+        Path cds = diretorio.resolve(ARQUIVO_CDS).toAbsolutePath();
+        Path metricas = diretorio.resolve(ARQUIVO_METRICAS).toAbsolutePath();
+
+        // AppCDS só arquiva classes vindas de .jar, não de diretórios como bin/
+        empacotar(jar);
+        Files.deleteIfExists(cds);
+
+        if (Runtime.version().feature() < 13) {
+            System.err.println("[AVISO] -XX:ArchiveClassesAtExit exige JDK 13+; gerando só as métricas da fonte.");
+            exercitar();
+            MedidorTexto.salvarTabelas(metricas);
+            return;
+        }
+
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> comando = List.of(java, "-XX:ArchiveClassesAtExit=" + cds, "-Xshare:auto", "-Xlog:cds=error",
+                "-Djava.awt.headless=true", "-cp", jar.toString(), TreinamentoCDS.class.getName(), metricas.toString());
+        int codigo = new ProcessBuilder(comando).inheritIO().start().waitFor();
+        if (codigo != 0 || !Files.exists(cds)) {
+            throw new IOException("O treinamento falhou (código de saída " + codigo + ").");
+        }
+        System.out.println("Treinamento concluído: " + jar + ", " + cds + " e " + metricas);
+    }
+
+    /**
+     * Lado da JVM filha: roda o pipeline e grava as métricas. args[0] = arquivo de métricas.
+     */
+    public static void main(String[] args) throws IOException {
+        exercitar();
+        MedidorTexto.salvarTabelas(Paths.get(args[0]));
+    }
+
+    /**
+     * Compila entradas que passam por todas as fases, níveis de detalhe, layout salvo e limites.
+     */
+    private static void exercitar() throws IOException {
+        Path layout = Files.createTempFile("treinamento", ".layout");
+        try {
+            List<String> entradas = new ArrayList<>();
+            entradas.add(EXEMPLO);
+            entradas.add(EXEMPLO_COM_ERROS);
+            for (GeradorCorpus.Topologia topologia : GeradorCorpus.Topologia.values()) {
+                entradas.add(new GeradorCorpus(60, 5, 1.5, topologia, 1).gerar().texto);
+            }
+
+            for (String entrada : entradas) {
+                for (NivelDetalhe nivel : NivelDetalhe.values()) {
+                    CompiladorPlantUML.compilar(entrada, OpcoesCompilacao.PADRAO.comNivelDetalhe(nivel));
+                }
+                // duas vezes com o mesmo arquivo: a segunda passa pelo layout incremental
+                Files.deleteIfExists(layout);
+                CompiladorPlantUML.compilar(entrada, OpcoesCompilacao.PADRAO.comArquivoLayout(layout));
+                CompiladorPlantUML.compilar(entrada, OpcoesCompilacao.PADRAO.comArquivoLayout(layout));
+            }
+            CompiladorPlantUML.compilar(EXEMPLO, OpcoesCompilacao.PADRAO.comLimites(LimitesCompilacao.PADRAO.comMaxClasses(1)));
+        } finally {
+            Files.deleteIfExists(layout);
+        }
+    }
+
+    /**
+     * Copia o classpath atual para um .jar (se já for um .jar, copia o arquivo).
+     */
+    private static void empacotar(Path destino) throws IOException {
+        Path origem = Paths.get(System.getProperty("java.class.path")).toAbsolutePath();
+        if (!Files.isDirectory(origem)) {
+            if (!origem.equals(destino)) Files.copy(origem, destino, StandardCopyOption.REPLACE_EXISTING);
+            return;
+        }
+
+        Manifest manifesto = new Manifest();
+        manifesto.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifesto.getMainAttributes().put(Attributes.Name.MAIN_CLASS, "App");
+        List<Path> classes;
+        try (Stream<Path> arquivos = Files.walk(origem)) {
+            classes = arquivos.filter(p -> p.toString().endsWith(".class")).sorted().collect(Collectors.toList());
+        }
+        try (OutputStream saida = Files.newOutputStream(destino);
+             JarOutputStream jar = new JarOutputStream(saida, manifesto)) {
+            for (Path classe : classes) {
+                jar.putNextEntry(new JarEntry(origem.relativize(classe).toString().replace('\\', '/')));
+                Files.copy(classe, jar);
+                jar.closeEntry();
+            }
+        }
+    }
+}